@@ -0,0 +1,319 @@
+package linkedlist.doublelinkedlist;
+
+import java.util.Arrays;
+
+/**
+ * A doubly linked list with the core {@link DoubleLinkedList} API whose nodes live in an arena instead of the heap.
+ * <p>
+ * A node is a slot number indexing three parallel arrays: items, next and prev, NIL ending a chain. Removed slots
+ * go onto a free list threaded through next and are reused by later adds, so once the arena has grown to the
+ * list's peak size, adding and removing at either end allocates nothing. The arrays only grow; removeAll resets
+ * the arena but keeps its capacity.
+ * </p>
+ * Time Complexity: O(1) amortized at both ends, O(n) by index or value.
+ * Space Complexity: O(c) where c is the peak number of elements, one reference and two ints per slot.
+ */
+public class ArenaDoubleLinkedList<E> {
+    private static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // items[slot] is the element of a node, null for a free slot
+    private Object[] items;
+    // next[slot] is the following node, or the following free slot for a free one
+    private int[] next;
+    // prev[slot] is the preceding node
+    private int[] prev;
+    // Slot of first node.
+    private int first = NIL;
+    // Slot of last node.
+    private int last = NIL;
+    // Head of the free list of released slots
+    private int free = NIL;
+    // Slots at or above this mark have never been used
+    private int used;
+    // The number of elements currently in the list
+    private int size;
+
+    /**
+     * Creates an empty list with the default arena capacity.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     */
+    public ArenaDoubleLinkedList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list whose arena already holds the given number of nodes, so the first adds don't grow it.
+     *
+     * @param capacity The number of nodes to reserve
+     * @throws IllegalArgumentException If the capacity is negative
+     */
+    public ArenaDoubleLinkedList(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Capacity can't be negative");
+
+        items = new Object[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+    }
+
+    /**
+     * Adds an element at the end of the double LinkedList
+     *
+     * @param element Value to insert at the end.
+     *                Time Complexity: O(1) amortized
+     *                Space Complexity: O(1), none once the arena is warm
+     */
+    public void addLast(E element) {
+        int node = allocate(element);
+        if (first == NIL) {
+            first = node;
+        } else {
+            next[last] = node;
+            prev[node] = last;
+        }
+        last = node;
+        size++;
+    }
+
+    /**
+     * Adds an element at the first of the double LinkedList
+     *
+     * @param element Value to insert at the start
+     *                Time Complexity: O(1) amortized
+     *                Space Complexity: O(1), none once the arena is warm
+     */
+    public void addFirst(E element) {
+        int node = allocate(element);
+        if (last == NIL) {
+            last = node;
+        } else {
+            prev[first] = node;
+            next[node] = first;
+        }
+        first = node;
+        size++;
+    }
+
+    /**
+     * Removes the first element of the double LinkedList
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     */
+    public boolean removeFirst() {
+        if (first == NIL)
+            return false;
+
+        unlink(first);
+        return true;
+    }
+
+    /**
+     * Removes the last element of the double LinkedList
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     */
+    public boolean removeLast() {
+        if (last == NIL)
+            return false;
+
+        unlink(last);
+        return true;
+    }
+
+    /**
+     * Removes the element of an index (0-indexed), walking from the nearer end
+     *
+     * @param index to the element to remove.
+     *              Time Complexity: O(n)
+     *              Space Complexity: O(1)
+     */
+    public void remove(int index) {
+        if (index >= size || index < 0)
+            throw new ArrayIndexOutOfBoundsException("Index out of bounds");
+
+        unlink(nodeAt(index));
+    }
+
+    /**
+     * Removes the first occurrence of an element
+     *
+     * @param element to remove.
+     *                Time Complexity: O(n)
+     *                Space Complexity: O(1)
+     */
+    public boolean remove(E element) {
+        for (int curr = first; curr != NIL; curr = next[curr]) {
+            if (items[curr].equals(element)) {
+                unlink(curr);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes all elements and resets the arena, keeping its capacity.
+     * Time Complexity: O(c) where c is the number of slots ever used, to drop the element references
+     * Space Complexity: O(1)
+     */
+    public void removeAll() {
+        Arrays.fill(items, 0, used, null);
+        first = last = free = NIL;
+        used = size = 0;
+    }
+
+    /**
+     * Retrieves element at specified index (0-indexed), walking from the nearer end
+     *
+     * @param index Position to get element from
+     * @return Element at given index
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public E get(int index) {
+        if (index >= size || index < 0)
+            throw new IndexOutOfBoundsException("Index out of bounds");
+
+        return itemAt(nodeAt(index));
+    }
+
+    public E getFirst() {
+        if (first == NIL)
+            throw new NullPointerException("LinkedList is empty");
+
+        return itemAt(first);
+    }
+
+    public E getLast() {
+        if (last == NIL)
+            throw new NullPointerException("LinkedList is empty");
+
+        return itemAt(last);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of nodes the arena holds before it has to grow.
+     */
+    public int getCapacity() {
+        return items.length;
+    }
+
+    /**
+     * Grows the arena to hold at least the given number of nodes, to warm it up before a steady-state workload.
+     * Time Complexity: O(c) when it grows, O(1) otherwise
+     *
+     * @param capacity The number of nodes to reserve
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= items.length)
+            return;
+
+        items = Arrays.copyOf(items, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+    }
+
+    /**
+     * Reverses the list in place by swapping the next and prev of every node.
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public void reverse() {
+        for (int curr = first; curr != NIL; curr = prev[curr]) {
+            int following = next[curr];
+            next[curr] = prev[curr];
+            prev[curr] = following;
+        }
+
+        int temp = first;
+        first = last;
+        last = temp;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder strList = new StringBuilder();
+        strList.append("[");
+
+        for (int curr = first; curr != NIL; curr = next[curr]) {
+            strList.append(items[curr]);
+            if (next[curr] != NIL)
+                strList.append(", ");
+        }
+
+        strList.append("]");
+        return strList.toString();
+    }
+
+    // Slot of the node at a position in 0..size-1, walking from the nearer end.
+    private int nodeAt(int index) {
+        int curr;
+        if (index < size / 2) {
+            curr = first;
+            while (index-- > 0)
+                curr = next[curr];
+        } else {
+            curr = last;
+            for (int i = size - 1; i > index; i--)
+                curr = prev[curr];
+        }
+        return curr;
+    }
+
+    // Unlinks a node from its neighbours or the ends, then releases its slot.
+    private void unlink(int node) {
+        int before = prev[node], after = next[node];
+
+        if (before == NIL)
+            first = after;
+        else
+            next[before] = after;
+
+        if (after == NIL)
+            last = before;
+        else
+            prev[after] = before;
+
+        release(node);
+        size--;
+    }
+
+    // Takes a slot from the free list, or the next unused one, growing the arena by half when it is full.
+    private int allocate(E element) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = next[node];
+        } else {
+            if (used == items.length)
+                ensureCapacity(Math.max(DEFAULT_CAPACITY, items.length + (items.length >> 1)));
+            node = used++;
+        }
+
+        items[node] = element;
+        next[node] = prev[node] = NIL;
+        return node;
+    }
+
+    // Drops the element reference so it can be collected, and pushes the slot onto the free list.
+    private void release(int node) {
+        items[node] = null;
+        next[node] = free;
+        free = node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E itemAt(int node) {
+        return (E) items[node];
+    }
+}
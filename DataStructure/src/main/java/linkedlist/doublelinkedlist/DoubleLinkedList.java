@@ -1,5 +1,9 @@
 package linkedlist.doublelinkedlist;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
 public class DoubleLinkedList<E> {
     // Pointer to first node.
     private Node<E> first;
@@ -471,17 +475,171 @@ public class DoubleLinkedList<E> {
         last = prev;
         verifyIntegrity();
     }
-//
-//    public void mergeSortedLists(DoubleLinkedList<E> secList){
-//        Node<E> curr = first;
-//        Node<E> secCurr = secList.first;
-//
-//        while (curr != null && secCurr != null){
-//            if(){
-//
-//            }else {
-//
-//            }
-//        }
-//    }
-}
\ No newline at end of file
+
+    /**
+     * Sorts the double LinkedList in place with a bottom-up merge sort on the next links: nodes are pushed one by
+     * one into a binary counter of sorted runs of 1, 2, 4, ... nodes, runs of the same length are merged as
+     * soon as they meet, and the prev links are rebuilt in one final pass. The sort is stable and creates no
+     * nodes.
+     *
+     * @param comparator The order to sort by, or null for the natural order of the elements
+     *                   Time Complexity: O(n log n)
+     *                   Space Complexity: O(1) - 32 run heads
+     */
+    public void sort(Comparator<? super E> comparator) {
+        if (size < 2)
+            return;
+
+        Comparator<? super E> cmp = orNatural(comparator);
+        Node<E>[] runs = newNodeArray(32); // runs[i] is null or a sorted run of 2^i nodes, older than lower ones
+
+        Node<E> curr = first;
+        while (curr != null) {
+            Node<E> run = curr;
+            curr = curr.next;
+            run.next = null;
+
+            int i = 0;
+            for (; runs[i] != null; i++) { // carry, like incrementing a binary counter
+                run = merge(runs[i], run, cmp);
+                runs[i] = null;
+            }
+            runs[i] = run;
+        }
+
+        Node<E> head = null;
+        for (Node<E> run : runs)
+            if (run != null)
+                head = head == null ? run : merge(run, head, cmp);
+
+        relinkPrev(head);
+        verifyIntegrity();
+    }
+
+    /**
+     * Merges another sorted double LinkedList into this sorted one by splicing its nodes in, leaving secList
+     * empty. Equal elements of this list come first.
+     *
+     * @param secList    The sorted list to merge in
+     * @param comparator The order both lists are sorted by, or null for the natural order
+     *                   Time Complexity: O(n + m)
+     *                   Space Complexity: O(1)
+     */
+    public void mergeSortedLists(DoubleLinkedList<E> secList, Comparator<? super E> comparator) {
+        if (secList == this)
+            throw new IllegalArgumentException("Can't merge a list into itself");
+
+        if (secList.first == null)
+            return;
+
+        Node<E> head = first == null ? secList.first : merge(first, secList.first, orNatural(comparator));
+        size += secList.size;
+        secList.first = secList.last = null;
+        secList.size = 0;
+
+        relinkPrev(head);
+        verifyIntegrity();
+    }
+
+    /**
+     * Merges k sorted double LinkedLists into a new one, taking the smallest head each time from a heap of the
+     * list heads. The nodes are spliced, not copied, and the given lists are left empty. Ties go to the list
+     * that comes first, so the merge is stable.
+     *
+     * @param lists      The sorted lists
+     * @param comparator The order all lists are sorted by, or null for the natural order
+     * @return The merged list
+     *                   Time Complexity: O(N log k) where N is the total number of elements
+     *                   Space Complexity: O(k) for the heap
+     */
+    public static <E> DoubleLinkedList<E> mergeKSortedLists(List<DoubleLinkedList<E>> lists,
+                                                            Comparator<? super E> comparator) {
+        Comparator<? super E> cmp = orNatural(comparator);
+        DoubleLinkedList<E> result = new DoubleLinkedList<>();
+
+        Node<E>[] heads = newNodeArray(lists.size());
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, lists.size()), (a, b) -> {
+            int c = cmp.compare(heads[a].data, heads[b].data);
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+
+        for (int i = 0; i < heads.length; i++) {
+            DoubleLinkedList<E> list = lists.get(i);
+            heads[i] = list.first;
+            result.size += list.size;
+            list.first = list.last = null;
+            list.size = 0;
+
+            if (heads[i] != null)
+                heap.add(i);
+        }
+
+        Node<E> dummyFirst = new Node<>(null, null, null);
+        Node<E> tail = dummyFirst;
+        while (!heap.isEmpty()) {
+            int i = heap.poll();
+            tail = tail.next = heads[i];
+            heads[i] = heads[i].next;
+
+            if (heads[i] != null)
+                heap.add(i);
+        }
+
+        tail.next = null;
+        if (dummyFirst.next != null)
+            result.relinkPrev(dummyFirst.next);
+        result.verifyIntegrity();
+        return result;
+    }
+
+    // Makes head the first node and sets last and every prev link from the next links.
+    private void relinkPrev(Node<E> head) {
+        first = head;
+        first.prev = null;
+
+        Node<E> curr = first;
+        while (curr.next != null) {
+            curr.next.prev = curr;
+            curr = curr.next;
+        }
+        last = curr;
+    }
+
+    // Merges two non-empty sorted chains by relinking, taking from a on ties, and returns the head.
+    // Only next links are set, relinkPrev rebuilds the prev links.
+    private static <E> Node<E> merge(Node<E> a, Node<E> b, Comparator<? super E> cmp) {
+        Node<E> head;
+        if (cmp.compare(b.data, a.data) < 0) {
+            head = b;
+            b = b.next;
+        } else {
+            head = a;
+            a = a.next;
+        }
+
+        Node<E> tail = head;
+        while (a != null && b != null) {
+            if (cmp.compare(b.data, a.data) < 0) {
+                tail.next = b;
+                b = b.next;
+            } else {
+                tail.next = a;
+                a = a.next;
+            }
+            tail = tail.next;
+        }
+
+        tail.next = a != null ? a : b;
+        return head;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E>[] newNodeArray(int length) {
+        return (Node<E>[]) new Node<?>[length];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Comparator<? super E> orNatural(Comparator<? super E> comparator) {
+        return comparator != null ? comparator : (a, b) -> ((Comparable<? super E>) a).compareTo(b);
+    }
+}
@@ -0,0 +1,366 @@
+package linkedlist.singlelinkedlist;
+
+import java.util.Arrays;
+
+/**
+ * A singly linked list with the core {@link SingleLinkedList} API whose nodes live in an arena instead of the heap.
+ * <p>
+ * A node is a slot number: items[slot] holds its element and next[slot] the slot of the following node, NIL ending
+ * the chain. Removed slots are pushed onto a free list threaded through the same next array and handed out again
+ * by later adds, so once the arena has grown to the list's peak size, add and remove allocate nothing and leave no
+ * garbage behind. The arrays only grow; removeAll resets the arena but keeps its capacity.
+ * </p>
+ * Time Complexity: the same as {@link SingleLinkedList}, add is O(1) amortized while the arena grows.
+ * Space Complexity: O(c) where c is the peak number of elements, about one object reference and one int per slot.
+ */
+public class ArenaSingleLinkedList<E> {
+    private static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // items[slot] is the element of a node, null for a free slot
+    private Object[] items;
+    // next[slot] is the following node for a node, the following free slot for a free one
+    private int[] next;
+    // Slot of first node.
+    private int first = NIL;
+    // Slot of last node.
+    private int last = NIL;
+    // Head of the free list of released slots
+    private int free = NIL;
+    // Slots at or above this mark have never been used
+    private int used;
+    // The number of elements currently in the list
+    private int size;
+
+    /**
+     * Creates an empty list with the default arena capacity.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     */
+    public ArenaSingleLinkedList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list whose arena already holds the given number of nodes, so the first adds don't grow it.
+     *
+     * @param capacity The number of nodes to reserve
+     * @throws IllegalArgumentException If the capacity is negative
+     */
+    public ArenaSingleLinkedList(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Capacity can't be negative");
+
+        items = new Object[capacity];
+        next = new int[capacity];
+    }
+
+    /**
+     * Adds an element at the tail of the LinkedList
+     *
+     * @param element Value to insert at the end.
+     *                Time Complexity: O(1) amortized
+     *                Space Complexity: O(1), none once the arena is warm
+     */
+    public void addLast(E element) {
+        int node = allocate(element, NIL);
+        if (first == NIL)
+            first = node;
+        else
+            next[last] = node;
+
+        last = node;
+        size++;
+    }
+
+    /**
+     * Adds an element at the head of the LinkedList
+     *
+     * @param element Value to insert at the start
+     *                Time Complexity: O(1) amortized
+     *                Space Complexity: O(1), none once the arena is warm
+     */
+    public void addFirst(E element) {
+        first = allocate(element, first);
+        if (last == NIL)
+            last = first;
+
+        size++;
+    }
+
+    /**
+     * Inserts element at specified index, shifting existing elements right (0-Indexed)
+     *
+     * @param index   Position to insert at.
+     * @param element Value to insert.
+     *                Time Complexity: O(n)
+     *                Space Complexity: O(1), none once the arena is warm
+     */
+    public void add(int index, E element) {
+        if (index > size || index < 0)
+            throw new ArrayIndexOutOfBoundsException("Index out of bounds");
+
+        if (index == 0) {
+            addFirst(element);
+            return;
+        }
+
+        if (index == size) {
+            addLast(element);
+            return;
+        }
+
+        int prev = nodeAt(index - 1);
+        int node = allocate(element, next[prev]);
+        next[prev] = node;
+        size++;
+    }
+
+    /**
+     * Removes the node of an index, returning its slot to the free list
+     *
+     * @param index to the element to remove.
+     *              Time Complexity: O(n)
+     *              Space Complexity: O(1)
+     */
+    public void remove(int index) {
+        if (index >= size || index < 0)
+            throw new ArrayIndexOutOfBoundsException("Index out of bounds");
+
+        if (index == 0) {
+            removeFirst();
+            return;
+        }
+
+        unlinkAfter(nodeAt(index - 1));
+    }
+
+    /**
+     * Removes the first occurrence of an element
+     *
+     * @param element to remove.
+     *                Time Complexity: O(n)
+     *                Space Complexity: O(1)
+     */
+    public boolean remove(E element) {
+        if (first == NIL)
+            return false;
+
+        if (items[first].equals(element))
+            return removeFirst();
+
+        for (int prev = first; next[prev] != NIL; prev = next[prev]) {
+            if (items[next[prev]].equals(element)) {
+                unlinkAfter(prev);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the first element of the LinkedList
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     */
+    public boolean removeFirst() {
+        if (first == NIL)
+            return false;
+
+        int node = first;
+        first = next[node];
+        if (first == NIL)
+            last = NIL;
+
+        release(node);
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes the last element of the LinkedList.
+     * Time Complexity: O(n) - Requires traversal to find the second-to-last node
+     * Space Complexity: O(1)
+     */
+    public boolean removeLast() {
+        if (first == NIL)
+            return false;
+
+        if (first == last)
+            return removeFirst();
+
+        unlinkAfter(nodeAt(size - 2));
+        return true;
+    }
+
+    /**
+     * Removes all elements and resets the arena, keeping its capacity.
+     * Time Complexity: O(c) where c is the number of slots ever used, to drop the element references
+     * Space Complexity: O(1)
+     */
+    public Boolean removeAll() {
+        Arrays.fill(items, 0, used, null);
+        first = last = free = NIL;
+        used = size = 0;
+        return true;
+    }
+
+    /**
+     * Retrieves element at specified index (0-indexed)
+     *
+     * @param index Position to get element from
+     * @return Element at given index
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public E get(int index) {
+        if (index >= size || index < 0)
+            throw new IndexOutOfBoundsException("Index out of bounds");
+
+        return itemAt(nodeAt(index));
+    }
+
+    public E getFirst() {
+        if (first == NIL)
+            throw new NullPointerException("LinkedList is empty");
+
+        return itemAt(first);
+    }
+
+    public E getLast() {
+        if (last == NIL)
+            throw new NullPointerException("LinkedList is empty");
+
+        return itemAt(last);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of nodes the arena holds before it has to grow.
+     */
+    public int getCapacity() {
+        return items.length;
+    }
+
+    /**
+     * Grows the arena to hold at least the given number of nodes, to warm it up before a steady-state workload.
+     * Time Complexity: O(c) when it grows, O(1) otherwise
+     *
+     * @param capacity The number of nodes to reserve
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= items.length)
+            return;
+
+        items = Arrays.copyOf(items, capacity);
+        next = Arrays.copyOf(next, capacity);
+    }
+
+    /**
+     * Reverses the entire LinkedList in-place, relinking slots without moving elements
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public void reverse() {
+        int prev = NIL, curr = first;
+
+        last = first;
+        while (curr != NIL) {
+            int following = next[curr];
+            next[curr] = prev;
+            prev = curr;
+            curr = following;
+        }
+        first = prev;
+    }
+
+    /**
+     * Searches for a specific element in the LinkedList
+     *
+     * @param element The value to search for in the list
+     * @return The index of the element if found, -1 otherwise
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public int linearSearch(E element) {
+        int curr = first;
+        for (int i = 0; curr != NIL; i++) {
+            if (items[curr].equals(element))
+                return i;
+
+            curr = next[curr];
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder strList = new StringBuilder();
+        strList.append("[");
+
+        for (int curr = first; curr != NIL; curr = next[curr]) {
+            strList.append(items[curr]);
+            if (next[curr] != NIL)
+                strList.append(", ");
+        }
+
+        strList.append("]");
+        return strList.toString();
+    }
+
+    // Slot of the node at a position in 0..size-1.
+    private int nodeAt(int index) {
+        int curr = first;
+        while (index-- > 0)
+            curr = next[curr];
+
+        return curr;
+    }
+
+    // Unlinks and releases the node following prev, which must exist.
+    private void unlinkAfter(int prev) {
+        int node = next[prev];
+        next[prev] = next[node];
+        if (node == last)
+            last = prev;
+
+        release(node);
+        size--;
+    }
+
+    // Takes a slot from the free list, or the next unused one, growing the arena by half when it is full.
+    private int allocate(E element, int following) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = next[node];
+        } else {
+            if (used == items.length)
+                ensureCapacity(Math.max(DEFAULT_CAPACITY, items.length + (items.length >> 1)));
+            node = used++;
+        }
+
+        items[node] = element;
+        next[node] = following;
+        return node;
+    }
+
+    // Drops the element reference so it can be collected, and pushes the slot onto the free list.
+    private void release(int node) {
+        items[node] = null;
+        next[node] = free;
+        free = node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E itemAt(int node) {
+        return (E) items[node];
+    }
+}
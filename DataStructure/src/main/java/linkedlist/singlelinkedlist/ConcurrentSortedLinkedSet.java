@@ -0,0 +1,216 @@
+package linkedlist.singlelinkedlist;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free sorted set kept as a singly linked list (Harris's list with Michael's unlinking), safe to share
+ * between any number of threads without a global lock.
+ * - Every next pointer carries a mark; a node is logically removed once its own next pointer is marked.
+ * - Physical unlinking is a CAS on the predecessor's next pointer, done by the remover or by any later traversal
+ *   that meets the marked node, so no thread ever waits for another.
+ * contains is wait-free: it walks the list without helping and checks the mark of the node it stops at.
+ * size is a wait-free estimate, exact only when the set is quiescent. Iteration is weakly consistent.
+ * Null elements are not permitted.
+ * Time Complexity: O(n) for add, remove and contains, n being the number of elements; the list suits
+ * small-to-medium membership tables, {@link map.ConcurrentSkipListMap} larger ones.
+ * Space Complexity: O(n)
+ */
+public class ConcurrentSortedLinkedSet<E extends Comparable<? super E>> implements Iterable<E> {
+    // Sentinel before every element, null stands after every element.
+    private final Node<E> head = new Node<>(null, null);
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentSortedLinkedSet() {
+    }
+
+    /**
+     * Adds the element if it is absent. Linking the new node with one CAS on its predecessor is the
+     * linearization point.
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     *
+     * @param element the element, must not be null
+     * @return true if the element was added, false if it was already present
+     */
+    public boolean add(E element) {
+        Objects.requireNonNull(element);
+
+        while (true) {
+            Window<E> window = find(element);
+            Node<E> pred = window.pred, curr = window.curr;
+
+            if (curr != null && curr.item.compareTo(element) == 0)
+                return false;
+
+            Node<E> newNode = new Node<>(element, curr);
+            if (pred.next.compareAndSet(curr, newNode, false, false)) {
+                size.increment();
+                return true;
+            }
+            // pred was removed or another node was linked after it, search again
+        }
+    }
+
+    /**
+     * Removes the element if it is present. Marking the node's next pointer is the linearization point, the
+     * node is then unlinked with one CAS, or left for the next traversal to snip if that CAS loses.
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     *
+     * @param element the element to be removed
+     * @return true if this call removed the element, false if it was absent or another thread removed it
+     */
+    public boolean remove(E element) {
+        Objects.requireNonNull(element);
+
+        while (true) {
+            Window<E> window = find(element);
+            Node<E> pred = window.pred, curr = window.curr;
+
+            if (curr == null || curr.item.compareTo(element) != 0)
+                return false;
+
+            Node<E> succ = curr.next.getReference();
+            if (!curr.next.compareAndSet(succ, succ, false, true))
+                continue; // succ changed or curr was marked by another remover
+
+            size.decrement();
+            pred.next.compareAndSet(curr, succ, false, false);
+            return true;
+        }
+    }
+
+    /**
+     * Checks if the element is present, without writing anything.
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     *
+     * @param element the element to look for
+     * @return true if the element is present and not being removed
+     */
+    public boolean contains(E element) {
+        Objects.requireNonNull(element);
+
+        Node<E> curr = head.next.getReference();
+        while (curr != null && curr.item.compareTo(element) < 0)
+            curr = curr.next.getReference();
+
+        return curr != null && curr.item.compareTo(element) == 0 && !curr.next.isMarked();
+    }
+
+    /**
+     * Returns the number of elements. Concurrent updates may or may not be counted.
+     * Time Complexity: O(c) where c is the number of LongAdder cells, at most the number of cores
+     * Space Complexity: O(1)
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, size.sum()));
+    }
+
+    /**
+     * Checks if no element is logically present. Removed nodes whose unlinking is still pending don't count.
+     */
+    public boolean isEmpty() {
+        return advance(head) == null;
+    }
+
+    /**
+     * Returns a weakly consistent iterator in ascending order: it never throws ConcurrentModificationException,
+     * skips elements removed before it reaches them, and may or may not see elements added after its creation.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private Node<E> nextNode = advance(head);
+
+            @Override
+            public boolean hasNext() {
+                return nextNode != null;
+            }
+
+            @Override
+            public E next() {
+                if (nextNode == null)
+                    throw new NoSuchElementException();
+
+                E item = nextNode.item;
+                nextNode = advance(nextNode);
+                return item;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (E element : this) {
+            if (sb.length() > 1)
+                sb.append(", ");
+            sb.append(element);
+        }
+        return sb.append(']').toString();
+    }
+
+    // First node after from that is not logically removed, or null.
+    private static <E> Node<E> advance(Node<E> from) {
+        Node<E> curr = from.next.getReference();
+        while (curr != null && curr.next.isMarked())
+            curr = curr.next.getReference();
+
+        return curr;
+    }
+
+    /**
+     * Finds the window around the element: curr is the first unmarked node with an item >= element (null at the
+     * end) and pred the node right before it. Marked nodes met on the way are unlinked; if that CAS fails, pred
+     * itself changed under us and the search restarts from the head.
+     */
+    private Window<E> find(E element) {
+        boolean[] marked = {false};
+
+        retry:
+        while (true) {
+            Node<E> pred = head;
+            Node<E> curr = pred.next.getReference();
+
+            while (curr != null) {
+                Node<E> succ = curr.next.get(marked);
+
+                while (marked[0]) { // curr is removed, help unlink it
+                    if (!pred.next.compareAndSet(curr, succ, false, false))
+                        continue retry;
+
+                    curr = succ;
+                    if (curr == null)
+                        return new Window<>(pred, null);
+                    succ = curr.next.get(marked);
+                }
+
+                if (curr.item.compareTo(element) >= 0)
+                    return new Window<>(pred, curr);
+
+                pred = curr;
+                curr = succ;
+            }
+
+            return new Window<>(pred, null);
+        }
+    }
+
+    private record Window<E>(Node<E> pred, Node<E> curr) {
+    }
+
+    private static class Node<E> {
+        final E item;
+        final AtomicMarkableReference<Node<E>> next; // the mark means this node is removed
+
+        Node(E item, Node<E> next) {
+            this.item = item;
+            this.next = new AtomicMarkableReference<>(next, false);
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package linkedlist.singlelinkedlist;
 
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
 /**
  * A singly linked list implementation with both head and tail pointers.
  * This class provides various operations for manipulating a linked list including
@@ -456,6 +462,166 @@ public class SingleLinkedList<E> {
         verifyIntegrity();
     }
 
+    /**
+     * Sorts the LinkedList in place with a bottom-up merge sort. Nodes are taken off the front one by one and
+     * pushed into a binary counter of sorted runs of 1, 2, 4, ... nodes; two runs of the same length are
+     * merged as soon as they meet, so merges work on recently touched nodes and the list is read only once.
+     * Runs are merged by relinking, no node is created or copied and there is no recursion. The sort is stable.
+     * Building a list by addLast and sorting it once replaces n calls to addSorted.
+     *
+     * @param comparator The order to sort by, or null for the natural order of the elements
+     *                   Time Complexity: O(n log n)
+     *                   Space Complexity: O(1) - 32 run heads
+     */
+    public void sort(Comparator<? super E> comparator) {
+        if (size < 2)
+            return;
+
+        Comparator<? super E> cmp = orNatural(comparator);
+        Node<E>[] runs = newNodeArray(32); // runs[i] is null or a sorted run of 2^i nodes, older than lower ones
+
+        Node<E> curr = first;
+        while (curr != null) {
+            Node<E> run = curr;
+            curr = curr.next;
+            run.next = null;
+
+            int i = 0;
+            for (; runs[i] != null; i++) { // carry, like incrementing a binary counter
+                run = merge(runs[i], run, cmp);
+                runs[i] = null;
+            }
+            runs[i] = run;
+        }
+
+        Node<E> head = null;
+        for (Node<E> run : runs)
+            if (run != null)
+                head = head == null ? run : merge(run, head, cmp);
+
+        first = head;
+        for (last = first; last.next != null; )
+            last = last.next;
+        verifyIntegrity();
+    }
+
+    /**
+     * Merges another sorted LinkedList into this sorted one by splicing its nodes in, leaving secList empty.
+     * Equal elements of this list come first.
+     *
+     * @param secList    The sorted list to merge in
+     * @param comparator The order both lists are sorted by, or null for the natural order
+     *                   Time Complexity: O(n + m)
+     *                   Space Complexity: O(1)
+     */
+    public void mergeSortedLists(SingleLinkedList<E> secList, Comparator<? super E> comparator) {
+        if (secList == this)
+            throw new IllegalArgumentException("Can't merge a list into itself");
+
+        if (secList.first == null)
+            return;
+
+        Comparator<? super E> cmp = orNatural(comparator);
+        if (first == null || cmp.compare(secList.last.data, last.data) >= 0)
+            last = secList.last; // the longer tail ends the merge, secList's on a tie
+
+        first = first == null ? secList.first : merge(first, secList.first, cmp);
+        size += secList.size;
+
+        secList.first = secList.last = null;
+        secList.size = 0;
+        verifyIntegrity();
+    }
+
+    /**
+     * Merges k sorted LinkedLists into a new one, taking the smallest head each time from a heap of the list
+     * heads. The nodes are spliced, not copied, and the given lists are left empty. Ties go to the list that
+     * comes first, so the merge is stable.
+     *
+     * @param lists      The sorted lists
+     * @param comparator The order all lists are sorted by, or null for the natural order
+     * @return The merged list
+     *                   Time Complexity: O(N log k) where N is the total number of elements
+     *                   Space Complexity: O(k) for the heap
+     */
+    public static <E> SingleLinkedList<E> mergeKSortedLists(List<SingleLinkedList<E>> lists,
+                                                            Comparator<? super E> comparator) {
+        Comparator<? super E> cmp = orNatural(comparator);
+        SingleLinkedList<E> result = new SingleLinkedList<>();
+
+        Node<E>[] heads = newNodeArray(lists.size());
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, lists.size()), (a, b) -> {
+            int c = cmp.compare(heads[a].data, heads[b].data);
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+
+        for (int i = 0; i < heads.length; i++) {
+            SingleLinkedList<E> list = lists.get(i);
+            heads[i] = list.first;
+            result.size += list.size;
+            list.first = list.last = null;
+            list.size = 0;
+
+            if (heads[i] != null)
+                heap.add(i);
+        }
+
+        Node<E> dummyFirst = new Node<>(null, null);
+        Node<E> tail = dummyFirst;
+        while (!heap.isEmpty()) {
+            int i = heap.poll();
+            tail = tail.next = heads[i];
+            heads[i] = heads[i].next;
+
+            if (heads[i] != null)
+                heap.add(i);
+        }
+
+        tail.next = null;
+        result.first = dummyFirst.next;
+        result.last = result.first == null ? null : tail;
+        result.verifyIntegrity();
+        return result;
+    }
+
+    // Merges two non-empty sorted chains by relinking, taking from a on ties, and returns the head.
+    // Only next links are set.
+    private static <E> Node<E> merge(Node<E> a, Node<E> b, Comparator<? super E> cmp) {
+        Node<E> head;
+        if (cmp.compare(b.data, a.data) < 0) {
+            head = b;
+            b = b.next;
+        } else {
+            head = a;
+            a = a.next;
+        }
+
+        Node<E> tail = head;
+        while (a != null && b != null) {
+            if (cmp.compare(b.data, a.data) < 0) {
+                tail.next = b;
+                b = b.next;
+            } else {
+                tail.next = a;
+                a = a.next;
+            }
+            tail = tail.next;
+        }
+
+        tail.next = a != null ? a : b;
+        return head;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E>[] newNodeArray(int length) {
+        return (Node<E>[]) new Node<?>[length];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Comparator<? super E> orNatural(Comparator<? super E> comparator) {
+        return comparator != null ? comparator : (a, b) -> ((Comparable<? super E>) a).compareTo(b);
+    }
+
     /**
      * Removes all nodes at even positions from the LinkedList.
      * For example, in list [1,2,3,4], nodes with values 2 and 4 will be removed.
@@ -634,17 +800,14 @@ public class SingleLinkedList<E> {
     /**
      * Removes the last occurrence of the specified element from the LinkedList.
      * If the element appears multiple times, only the last occurrence is removed.
+     * One pass remembers the last match and its predecessor, which is all the unlinking needs.
      *
      * @param element The element whose last occurrence should be removed
-     * Time Complexity: O(n) - Requires a full traversal to find the last occurrence
+     * Time Complexity: O(n) - A single traversal, even when the last occurrence is the tail
      * Space Complexity: O(1) - Uses only a few temporary node references
      */
     public void removeLastOccur(E element) {
         if (first == null || last == null) return;
-        if (first == last && element.equals(first.data)) {
-            removeFirst();
-            return;
-        }
 
         Node<E> prevLastOccur = null;
         Node<E> lastOccur = null;
@@ -659,50 +822,53 @@ public class SingleLinkedList<E> {
             curr = curr.next;
         }
 
-        if(prevLastOccur == null){
-            removeFirst();
+        if (lastOccur == null)
             return;
-        }
 
-        if(lastOccur == last) {
-            removeLast();
-            return;
-        }
+        if (prevLastOccur == null)
+            first = lastOccur.next;     // To update first pointer
+        else
+            prevLastOccur.next = lastOccur.next;
 
-        prevLastOccur.next = lastOccur.next;
-        size--;
+        if (lastOccur == last)
+            last = prevLastOccur;       // To update last pointer
 
+        size--;
         verifyIntegrity();
     }
 
     /**
      * Moves all occurrences of the specified element to the back of the LinkedList.
      * The relative order of other elements is preserved.
+     * Matches are unlinked onto a side chain during one pass, and the chain is hung after the last kept node.
      *
      * @param element The element to be moved to the back of the list
-     * Time Complexity: O(n) - Requires traversal of the list
+     * Time Complexity: O(n) - A single traversal
      * Space Complexity: O(1) - Uses only a few temporary node references
      */
     public void moveToBack(E element) {
         if (first == null || last == null) return;
 
         Node<E> dummyFirst = new Node<>(null, first);
+        Node<E> dummyMoved = new Node<>(null, null);
         Node<E> prev = dummyFirst;
-        Node<E> curr = first;
-        Node<E> originalLast = last;
-        while (curr != null && curr != originalLast) {
-            if (element.equals(curr.data)) {
-                prev.next = curr.next;
-                last.next = curr;
-                last = curr;
-                last.next = null;
+        Node<E> movedLast = dummyMoved;
 
-                curr = prev.next;
+        for (Node<E> curr = first; curr != null; curr = curr.next) {
+            if (element.equals(curr.data)) {
+                movedLast.next = curr;
+                movedLast = curr;
             } else {
+                prev.next = curr;
                 prev = curr;
-                curr = curr.next;
             }
         }
+
+        if (movedLast != dummyMoved) {
+            prev.next = dummyMoved.next;
+            movedLast.next = null;
+            last = movedLast;
+        }
         first = dummyFirst.next;
         verifyIntegrity();
     }
@@ -711,36 +877,29 @@ public class SingleLinkedList<E> {
     /* *
      * Remove all duplicate of elements in the LinkedList.
      * The relative order of other elements is preserved.
+     * A hash set of the values seen so far replaces the inner scan over the rest of the list.
      *
-     * Time Complexity: O(n^2) - Requires traversal of the list
-     * Space Complexity: O(1) - Uses only a few temporary node references
+     * Time Complexity: O(n) expected - A single traversal with O(1) set lookups
+     * Space Complexity: O(d) - The set holds the d distinct values
      */
     public void removeDuplicate() {
         if(first == null || last == null) return;
 
-        Node<E> element = first;
-
-        while (element != null) {
-            Node<E> prev = element;
-            Node<E> curr = element.next;
+        Set<E> seen = new HashSet<>();
+        seen.add(first.data);
 
-            while (curr != null) {
-                if ((element.data == null && curr.data == null) ||
-                        (element.data != null && element.data.equals(curr.data))) {
-                    prev.next = curr.next;
-
-                    if (curr == last) {
-                        last = prev;
-                    }
-
-                    size--;
-                } else {
-                    prev = curr;
-                }
-                curr = prev.next;
+        Node<E> prev = first;
+        Node<E> curr = first.next;
+        while (curr != null) {
+            if (!seen.add(curr.data)) {     // HashSet accepts null, so null duplicates go too
+                prev.next = curr.next;
+                size--;
+            } else {
+                prev = curr;
             }
-            element = element.next;
+            curr = prev.next;
         }
+        last = prev;
         verifyIntegrity();
     }
 
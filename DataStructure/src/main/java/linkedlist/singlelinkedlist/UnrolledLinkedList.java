@@ -0,0 +1,793 @@
+package linkedlist.singlelinkedlist;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * An unrolled singly linked list with the public methods of {@link SingleLinkedList}, except sort,
+ * mergeSortedLists and mergeKSortedLists, which splice single nodes.
+ * Each node holds up to NODE_CAPACITY elements in a small array, so a scan reads consecutive slots instead of
+ * chasing one pointer per element, and the per-node header and next pointer are shared by a whole block.
+ * A full node is split into two half-full ones on a positional insert, and a node that drops below half on remove
+ * borrows from or merges with the next one. Half fill is not an invariant of every node though: addFirst and
+ * addLast start a one-element node when the end node is full, and the last node has no next one to borrow from.
+ * Positional operations walk node by node, O(n / B) for B = NODE_CAPACITY, plus O(B) to shift inside the node.
+ */
+public class UnrolledLinkedList<E> {
+    private static final int NODE_CAPACITY = 32;
+    private static final int MIN_FILL = NODE_CAPACITY / 2;
+
+    // Pointer to first node.
+    private Node<E> first;
+    // Pointer to last node.
+    private Node<E> last;
+    // The number of elements currently in the list
+    private int size;
+
+    /**
+     * Default constructor creates an empty linked list.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     */
+    public UnrolledLinkedList() {
+    }
+
+    /**
+     * Adds an element at the tail of the LinkedList
+     *
+     * @param element Value to insert at the end.
+     *                Time Complexity: O(1) - Appends to the last node, or starts a new one when it is full
+     *                Space Complexity: O(1) amortized
+     */
+    public void addLast(E element) {
+        if (last == null || last.count == NODE_CAPACITY) {
+            Node<E> newNode = new Node<>(null);
+            if (last == null)
+                first = newNode;
+            else
+                last.next = newNode;
+            last = newNode;
+        }
+
+        last.items[last.count++] = element;
+        size++;
+    }
+
+    /**
+     * Adds an element at the head of the LinkedList
+     *
+     * @param element Value to insert at the start
+     *                Time Complexity: O(B) - Shifts the first node, or starts a new one when it is full
+     *                Space Complexity: O(1) amortized
+     */
+    public void addFirst(E element) {
+        if (first == null || first.count == NODE_CAPACITY) {
+            first = new Node<>(first);
+            if (last == null)
+                last = first;
+        }
+
+        insertAt(first, 0, element);
+    }
+
+    /**
+     * Inserts element at specified index, shifting existing elements right (0-Indexed)
+     *
+     * @param index   Position to insert at.
+     * @param element Value to insert.
+     *                Time Complexity: O(n / B + B) - Walks the nodes, then shifts inside one, splitting it if full
+     *                Space Complexity: O(1) amortized
+     */
+    public void add(int index, E element) {
+        if (index > size || index < 0)
+            throw new ArrayIndexOutOfBoundsException("Index out of bounds");
+
+        if (index == size) {    // To update last pointer
+            addLast(element);
+            return;
+        }
+
+        Node<E> curr = first;
+        while (index >= curr.count) {
+            index -= curr.count;
+            curr = curr.next;
+        }
+
+        if (curr.count == NODE_CAPACITY) { // split: the upper half moves to a new node
+            Node<E> right = split(curr, MIN_FILL);
+            if (index > curr.count) {
+                index -= curr.count;
+                curr = right;
+            }
+        }
+
+        insertAt(curr, index, element);
+    }
+
+    /**
+     * Removes the element of an index
+     *
+     * @param index to the element to remove.
+     *              Time Complexity: O(n / B + B)
+     *              Space Complexity: O(1)
+     */
+    public void remove(int index) {
+        if (index >= size || index < 0)
+            throw new ArrayIndexOutOfBoundsException("Index out of bounds");
+
+        Node<E> prev = null;
+        Node<E> curr = first;
+        while (index >= curr.count) {
+            index -= curr.count;
+            prev = curr;
+            curr = curr.next;
+        }
+
+        removeAt(prev, curr, index);
+    }
+
+    /**
+     * Removes the first occurrence of an element
+     *
+     * @param element to remove.
+     *                Time Complexity: O(n) - May need to scan the entire list to find the element
+     *                Space Complexity: O(1)
+     */
+    public boolean remove(E element) {
+        Node<E> prev = null;
+        for (Node<E> curr = first; curr != null; prev = curr, curr = curr.next) {
+            for (int i = 0; i < curr.count; i++) {
+                if (curr.items[i].equals(element)) {
+                    removeAt(prev, curr, i);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the first element of the LinkedList
+     * Time Complexity: O(B) - Shifts the first node
+     * Space Complexity: O(1)
+     */
+    public boolean removeFirst() {
+        if (first == null) return false;
+
+        removeAt(null, first, 0);
+        return true;
+    }
+
+    /**
+     * Removes the last element of the LinkedList.
+     * Time Complexity: O(1), or O(n / B) when the last node empties and its predecessor must be found
+     * Space Complexity: O(1)
+     */
+    public boolean removeLast() {
+        if (last == null) return false;
+
+        if (last.count > 1 || first == last) {
+            last.items[--last.count] = null;
+            size--;
+            if (size == 0)
+                first = last = null;
+            return true;
+        }
+
+        Node<E> prev = first;
+        while (prev.next != last)
+            prev = prev.next;
+
+        removeAt(prev, last, 0);
+        return true;
+    }
+
+    /**
+     * Removes all elements from the list.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     */
+    public Boolean removeAll() {
+        first = last = null;
+        size = 0;
+        return true;
+    }
+
+    /**
+     * Retrieves element at specified index (0-indexed)
+     *
+     * @param index Position to get element from
+     * @return Element at given index
+     * Time Complexity: O(n / B) - Skips whole nodes by their counts
+     * Space Complexity: O(1)
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (first == null || index >= size || index < 0)
+            throw new IndexOutOfBoundsException("Index out of bounds");
+
+        Node<E> curr = first;
+        while (index >= curr.count) {
+            index -= curr.count;
+            curr = curr.next;
+        }
+
+        return (E) curr.items[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public E getFirst() {
+        if (first == null)
+            throw new NullPointerException("LinkedList is empty");
+
+        return (E) first.items[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    public E getLast() {
+        if (last == null)
+            throw new NullPointerException("LinkedList is empty");
+
+        return (E) last.items[last.count - 1];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Reverses the entire LinkedList in-place: the node order, then the elements inside each node.
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public void reverse() {
+        if (first == null || first == last) {
+            if (first != null)
+                reverseItems(first);
+            return;
+        }
+
+        Node<E> curr = first;
+        Node<E> next;
+        Node<E> prev = null;
+
+        last = first;
+        while (curr != null) {
+            next = curr.next;
+            curr.next = prev;
+            reverseItems(curr);
+            prev = curr;
+            curr = next;
+        }
+        first = prev;
+    }
+
+    /**
+     * Searches for a specific element in the LinkedList
+     *
+     * @param element The value to search for in the list
+     * @return The index of the element if found, -1 otherwise
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public int linearSearch(E element) {
+        int base = 0;
+        for (Node<E> curr = first; curr != null; base += curr.count, curr = curr.next) {
+            for (int i = 0; i < curr.count; i++)
+                if (curr.items[i].equals(element))
+                    return base + i;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks the similarity between two LinkedLists. The two may be split into nodes differently.
+     *
+     * @param secList The second LinkedList to compare with
+     * @return true if both lists contain the same elements in the same order, false otherwise
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public boolean isSame(final UnrolledLinkedList<E> secList) {
+        if (this.size != secList.size)
+            return false;
+
+        Node<E> curr2 = secList.first;
+        int idx2 = 0;
+        for (Node<E> curr1 = first; curr1 != null; curr1 = curr1.next) {
+            for (int i = 0; i < curr1.count; i++) {
+                if (idx2 == curr2.count) {
+                    curr2 = curr2.next;
+                    idx2 = 0;
+                }
+                if (!curr1.items[i].equals(curr2.items[idx2++]))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder strList = new StringBuilder();
+        strList.append("[");
+
+        for (Node<E> curr = first; curr != null; curr = curr.next) {
+            for (int i = 0; i < curr.count; i++) {
+                strList.append(curr.items[i]);
+                if (i + 1 < curr.count || curr.next != null)
+                    strList.append(", ");
+            }
+        }
+
+        strList.append("]");
+        return strList.toString();
+    }
+
+    /**
+     * Node holding a block of consecutive elements in items[0, count).
+     */
+    private static class Node<E> {
+        private final Object[] items = new Object[NODE_CAPACITY];
+        private int count;
+        private Node<E> next;
+
+        public Node(Node<E> next) {
+            this.next = next;
+        }
+    }
+
+    /*************************************************************************************************************/
+    /*******************************************     Assignments     *********************************************/
+    /*************************************************************************************************************/
+
+    /**
+     * Adds a numeric element to the LinkedList with keeping it sorted, before the first element that is not
+     * smaller, or at the end if it is not smaller than the last one.
+     *
+     * @param element Value to insert
+     *                Time Complexity: O(n) - Scans the elements, then one positional insert
+     *                Space Complexity: O(1) amortized
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Number & Comparable<T>> void addSorted(T element) {
+        if (last == null || element.compareTo((T) last.items[last.count - 1]) >= 0) {
+            addLast((E) element);
+            verifyIntegrity();
+            return;
+        }
+
+        int index = 0;
+        for (Node<E> curr = first; curr != null; curr = curr.next) {
+            int i = 0;
+            while (i < curr.count && element.compareTo((T) curr.items[i]) > 0)
+                i++;
+
+            index += i;
+            if (i < curr.count)
+                break;
+        }
+
+        add(index, (E) element);
+        verifyIntegrity();
+    }
+
+    /**
+     * Removes all elements at even positions from the LinkedList.
+     * For example, in list [1,2,3,4], values 2 and 4 will be removed.
+     * Time Complexity: O(n) - One compaction pass
+     * Space Complexity: O(1)
+     */
+    public void removeEvenPos() {
+        int[] pos = {0};
+        retain(element -> (pos[0]++ & 1) == 0);
+        verifyIntegrity();
+    }
+
+    /**
+     * Swaps the first and last values of the LinkedList.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     */
+    public void swapFirstLast() {
+        if (first == null || size == 1)
+            return;
+
+        Object temp = first.items[0];
+        first.items[0] = last.items[last.count - 1];
+        last.items[last.count - 1] = temp;
+    }
+
+    /**
+     * Swaps the values of adjacent elements in the LinkedList.
+     * For example, [1,2,3,4] becomes [2,1,4,3].
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public void swapPairs() {
+        Node<E> pendingNode = null; // slot of the first element of the current pair
+        int pendingIdx = 0;
+
+        for (Node<E> curr = first; curr != null; curr = curr.next) {
+            for (int i = 0; i < curr.count; i++) {
+                if (pendingNode == null) {
+                    pendingNode = curr;
+                    pendingIdx = i;
+                } else {
+                    Object temp = pendingNode.items[pendingIdx];
+                    pendingNode.items[pendingIdx] = curr.items[i];
+                    curr.items[i] = temp;
+                    pendingNode = null;
+                }
+            }
+        }
+        verifyIntegrity();
+    }
+
+    /**
+     * Retrieves element at specified position in forward (1-indexed)
+     * Time Complexity: O(n / B)
+     */
+    public E getNthForward(int nth) {
+        if (nth <= 0 || nth > size)
+            throw new IllegalArgumentException("Index out of bounds");
+
+        return get(nth - 1);
+    }
+
+    /**
+     * Retrieves element at specified position in reverse (1-indexed)
+     * Time Complexity: O(n / B)
+     */
+    public E getNthReverse(int nth) {
+        if (nth <= 0 || nth > size)
+            throw new IllegalArgumentException("Index out of bounds");
+
+        return get(size - nth);
+    }
+
+    /**
+     * Rotates the LinkedList to the left by the specified number of positions.
+     * For example, rotating [1,2,3,4,5] by 2 results in [3,4,5,1,2].
+     * The node holding the new first element is split at it, then the two runs of nodes are swapped.
+     *
+     * @param rot The number of positions to rotate left
+     *            Time Complexity: O(n / B + B)
+     *            Space Complexity: O(1)
+     */
+    public void leftRotate(int rot) {
+        if (first == null || size == 1 || rot % size == 0)
+            return;
+
+        rot %= size; // as a rotating number greater than the size will return to the original arrangement.
+
+        Node<E> curr = first;
+        while (rot >= curr.count) {
+            rot -= curr.count;
+            curr = curr.next;
+        }
+
+        Node<E> newLast;
+        if (rot == 0) { // curr starts the rotated list; its predecessor ends it
+            newLast = first;
+            while (newLast.next != curr)
+                newLast = newLast.next;
+        } else {
+            newLast = curr;
+            curr = split(curr, rot);
+        }
+
+        last.next = first;
+        first = curr;
+        last = newLast;
+        last.next = null;
+        verifyIntegrity();
+    }
+
+    /**
+     * Prints all elements of the LinkedList in reverse order
+     * Time Complexity: O(n)
+     * Space Complexity: O(n / B) for the node stack
+     */
+    public void printAllReverse() {
+        List<Node<E>> nodes = new ArrayList<>();
+        for (Node<E> curr = first; curr != null; curr = curr.next)
+            nodes.add(curr);
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int n = nodes.size() - 1; n >= 0; n--)
+            for (int i = nodes.get(n).count - 1; i >= 0; i--)
+                sb.append(nodes.get(n).items[i]).append(' ');
+        System.out.println(sb.append(']'));
+    }
+
+    /**
+     * Removes the last occurrence of the specified element from the LinkedList.
+     *
+     * @param element The element whose last occurrence should be removed
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public void removeLastOccur(E element) {
+        Node<E> prevOfFound = null, found = null;
+        int foundIdx = -1;
+
+        Node<E> prev = null;
+        for (Node<E> curr = first; curr != null; prev = curr, curr = curr.next) {
+            for (int i = 0; i < curr.count; i++) {
+                if (element.equals(curr.items[i])) {
+                    prevOfFound = prev;
+                    found = curr;
+                    foundIdx = i;
+                }
+            }
+        }
+
+        if (found != null)
+            removeAt(prevOfFound, found, foundIdx);
+    }
+
+    /**
+     * Moves all occurrences of the specified element to the back of the LinkedList.
+     * The relative order of other elements is preserved.
+     *
+     * @param element The element to be moved to the back of the list
+     * Time Complexity: O(n)
+     * Space Complexity: O(k) for the k moved elements
+     */
+    public void moveToBack(E element) {
+        List<E> moved = new ArrayList<>();
+        retain(curr -> {
+            if (!element.equals(curr))
+                return true;
+
+            moved.add(curr);
+            return false;
+        });
+
+        for (E curr : moved)
+            addLast(curr);
+        verifyIntegrity();
+    }
+
+    /**
+     * Removes all duplicates of elements in the LinkedList, keeping the first occurrence of each.
+     * The relative order of other elements is preserved.
+     * Time Complexity: O(n) expected - One compaction pass with a hash set of the values seen
+     * Space Complexity: O(d) for the d distinct values
+     */
+    public void removeDuplicate() {
+        Set<E> seen = new HashSet<>();
+        retain(seen::add);
+        verifyIntegrity();
+    }
+
+    /**
+     * Rearranges the LinkedList so that the elements at odd positions (1st, 3rd, ...) come first, followed by
+     * the elements at even positions, both in their original order.
+     * For example, [1,2,3,4,5] becomes [1,3,5,2,4].
+     * Time Complexity: O(n) - One compaction pass, then the even elements are appended
+     * Space Complexity: O(n) for the even elements
+     */
+    public void arrangeOddPosFirst() {
+        List<E> evens = new ArrayList<>();
+        int[] pos = {0};
+        retain(element -> {
+            if ((pos[0]++ & 1) == 0)
+                return true;
+
+            evens.add(element);
+            return false;
+        });
+
+        for (E element : evens)
+            addLast(element);
+        verifyIntegrity();
+    }
+
+    /**
+     * Checks if the chain of nodes loops back on itself, with Floyd's two pointers stepping node by node.
+     * Time Complexity: O(n / B)
+     * Space Complexity: O(1)
+     */
+    public boolean isCircularLinkedList() {
+        Node<E> slowPtr = first;
+        Node<E> fastPtr = first;
+
+        while (fastPtr != null && fastPtr.next != null) {
+            slowPtr = slowPtr.next;
+            fastPtr = fastPtr.next.next;
+
+            if (fastPtr == slowPtr)
+                return true; // Cycle detected
+        }
+        return false; // Reached end (no cycle)
+    }
+
+    /**
+     * Keeps the elements accepted by keep, in order, packing them into full nodes from the front. The write
+     * position never passes the read position, so the elements are moved in place; emptied nodes are dropped.
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    @SuppressWarnings("unchecked")
+    private void retain(Predicate<? super E> keep) {
+        Node<E> writeNode = first, writePrev = null;
+        int writeIdx = 0;
+
+        for (Node<E> curr = first; curr != null; curr = curr.next) {
+            int count = curr.count; // the write may refill curr past its old count
+            for (int i = 0; i < count; i++) {
+                Object item = curr.items[i];
+                if (!keep.test((E) item))
+                    continue;
+
+                if (writeIdx == NODE_CAPACITY) {
+                    writeNode.count = NODE_CAPACITY;
+                    writePrev = writeNode;
+                    writeNode = writeNode.next;
+                    writeIdx = 0;
+                }
+                writeNode.items[writeIdx++] = item;
+            }
+        }
+
+        size = 0;
+        for (Node<E> curr = first; curr != writeNode; curr = curr.next)
+            size += curr.count;
+
+        if (writeNode == null || writeIdx == 0) { // writeNode got nothing
+            if (writePrev == null)
+                first = null;
+            else
+                writePrev.next = null;
+            last = writePrev;
+            return;
+        }
+
+        for (int i = writeIdx; i < writeNode.count; i++)
+            writeNode.items[i] = null;
+        writeNode.count = writeIdx;
+        writeNode.next = null;
+        last = writeNode;
+        size += writeIdx;
+    }
+
+    // Inserts at offset idx of the node, which must have room.
+    private void insertAt(Node<E> node, int idx, E element) {
+        System.arraycopy(node.items, idx, node.items, idx + 1, node.count - idx);
+        node.items[idx] = element;
+        node.count++;
+        size++;
+    }
+
+    // Moves the elements from offset at of the node into a new node linked right after it, and returns it.
+    private Node<E> split(Node<E> node, int at) {
+        Node<E> right = new Node<>(node.next);
+        right.count = node.count - at;
+        System.arraycopy(node.items, at, right.items, 0, right.count);
+        for (int i = at; i < node.count; i++)
+            node.items[i] = null;
+
+        node.count = at;
+        node.next = right;
+        if (last == node)
+            last = right;
+        return right;
+    }
+
+    // Removes offset idx of the node, then keeps the node at least half full by borrowing from or merging with
+    // the next node, or unlinks it if it is the last one and became empty.
+    private void removeAt(Node<E> prev, Node<E> node, int idx) {
+        System.arraycopy(node.items, idx + 1, node.items, idx, node.count - idx - 1);
+        node.items[--node.count] = null;
+        size--;
+
+        if (node.count >= MIN_FILL)
+            return;
+
+        Node<E> next = node.next;
+        if (next == null) {
+            if (node.count == 0) { // unlink the emptied last node
+                if (prev == null)
+                    first = null;
+                else
+                    prev.next = null;
+                last = prev;
+            }
+            return;
+        }
+
+        if (node.count + next.count <= NODE_CAPACITY) { // merge next into node
+            System.arraycopy(next.items, 0, node.items, node.count, next.count);
+            node.count += next.count;
+            node.next = next.next;
+            if (last == next)
+                last = node;
+        } else { // borrow enough from the front of next to even them out
+            int moved = (next.count - node.count) / 2;
+            System.arraycopy(next.items, 0, node.items, node.count, moved);
+            System.arraycopy(next.items, moved, next.items, 0, next.count - moved);
+            for (int i = next.count - moved; i < next.count; i++)
+                next.items[i] = null;
+            node.count += moved;
+            next.count -= moved;
+        }
+    }
+
+    private static void reverseItems(Node<?> node) {
+        for (int i = 0, j = node.count - 1; i < j; i++, j--) {
+            Object temp = node.items[i];
+            node.items[i] = node.items[j];
+            node.items[j] = temp;
+        }
+    }
+
+    /**
+     * Verifies the integrity of the LinkedList data structure.
+     * Checks that no node is empty, that the node counts add up to size, and that the last pointer correctly
+     * points to the last node.
+     *
+     * @throws RuntimeException if any inconsistency is found in the data structure
+     *                          Time Complexity: O(n / B)
+     *                          Space Complexity: O(1)
+     */
+    private void verifyIntegrity() {
+        if (size == 0 && (first != null || last != null)) {
+            throw new RuntimeException("First or Last has corrupted");
+        } else if (size > 0) {
+            int tempLen = 0;
+            Node<E> curr = first;
+
+            while (true) {
+                if (curr.count == 0)
+                    throw new RuntimeException("Empty node in the LinkedList");
+                tempLen += curr.count;
+                if (curr.next == null)
+                    break;
+                curr = curr.next;
+            }
+
+            if (tempLen != size) {
+                throw new RuntimeException("The size of LinkedList is incorrect");
+            }
+
+            if (curr != last) {
+                throw new RuntimeException("The Last pointer is incorrect");
+            }
+        }
+    }
+
+    /**
+     * Prints detailed information about the LinkedList for debugging purposes
+     * Displays the head, every node with its fill, the size, and the tail of the list
+     * Time Complexity: O(n)
+     * Space Complexity: O(1) beyond output
+     */
+    public void debugPrintAll() {
+        if (first == null && last == null) {
+            System.out.println("Head -> null");
+            System.out.println("[ ]\t Size = 0");
+            System.out.println("Tail -> null");
+        } else {
+            System.out.println("Head ---> " + first.items[0]);
+            for (Node<E> curr = first; curr != null; curr = curr.next) {
+                StringBuilder sb = new StringBuilder("[");
+                for (int i = 0; i < curr.count; i++)
+                    sb.append(curr.items[i]).append(i + 1 < curr.count ? " " : "");
+                System.out.print(sb.append("] (").append(curr.count).append('/').append(NODE_CAPACITY).append(')'));
+                if (curr.next != null)
+                    System.out.print(" --> ");
+            }
+            System.out.println("\nTail ---> " + last.items[last.count - 1]);
+            System.out.println("The size is : " + size);
+        }
+    }
+}
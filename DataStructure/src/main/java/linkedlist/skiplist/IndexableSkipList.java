@@ -0,0 +1,351 @@
+package linkedlist.skiplist;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A positional list kept as an indexable skip list: a singly linked list at level 0, plus express lanes above it
+ * where each link also records its span, the number of level-0 steps it jumps over. Finding position i is a
+ * descent that adds up spans instead of counting nodes, so get, set, add and remove at an index take
+ * O(log n) expected steps instead of the O(n) walk of {@link linkedlist.singlelinkedlist.SingleLinkedList}.
+ * <p>
+ * A node gets k levels with probability 2^-k, so the lanes hold n nodes in total on average and the list uses
+ * about twice the links of a plain linked list. Sequential scans only follow level 0.
+ * </p>
+ * Span invariant: for a node at position p (the head is at 0, elements at 1..size), span[l] is the position of
+ * next[l] minus p, where a missing next counts as position size + 1.
+ */
+public class IndexableSkipList<E> implements Iterable<E> {
+    private static final int MAX_LEVEL = 32;
+
+    // Sentinel at position 0 with every level.
+    private final Node<E> head = new Node<>(null, MAX_LEVEL);
+    // Pointer to last node, head when the list is empty.
+    private Node<E> last = head;
+    // Number of levels in use.
+    private int level = 1;
+    // The number of elements currently in the list
+    private int size;
+
+    /**
+     * Default constructor creates an empty list.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1) besides the head
+     */
+    public IndexableSkipList() {
+        head.span[0] = 1;
+    }
+
+    public void addLast(E element) {
+        add(size, element);
+    }
+
+    public void addFirst(E element) {
+        add(0, element);
+    }
+
+    /**
+     * Inserts element at specified index, shifting existing elements right (0-Indexed)
+     *
+     * @param index   Position to insert at.
+     * @param element Value to insert.
+     *                Time Complexity: O(log n) expected
+     *                Space Complexity: O(1) expected, the node's levels
+     */
+    public void add(int index, E element) {
+        if (index > size || index < 0)
+            throw new IndexOutOfBoundsException("Index out of bounds");
+
+        Node<E>[] update = newNodeArray(MAX_LEVEL);
+        int[] rank = new int[MAX_LEVEL];
+        findPredecessors(index, update, rank);
+
+        int height = randomLevel();
+        for (int lvl = level; lvl < height; lvl++) { // new lanes start at the head and run to the end
+            update[lvl] = head;
+            rank[lvl] = 0;
+            head.span[lvl] = size + 1;
+        }
+        level = Math.max(level, height);
+
+        int pos = index + 1; // position of the new node
+        Node<E> newNode = new Node<>(element, height);
+        for (int lvl = 0; lvl < height; lvl++) {
+            Node<E> prev = update[lvl];
+
+            newNode.next[lvl] = prev.next[lvl];
+            newNode.span[lvl] = rank[lvl] + prev.span[lvl] + 1 - pos; // old target moved one step right
+            prev.next[lvl] = newNode;
+            prev.span[lvl] = pos - rank[lvl];
+        }
+        for (int lvl = height; lvl < level; lvl++) // links jumping over the new node grow by one
+            update[lvl].span[lvl]++;
+
+        if (newNode.next[0] == null)
+            last = newNode;
+        size++;
+    }
+
+    /**
+     * Removes the element of an index (0-indexed)
+     *
+     * @param index to the element to remove.
+     * @return the removed element
+     *              Time Complexity: O(log n) expected
+     *              Space Complexity: O(1)
+     */
+    public E remove(int index) {
+        if (index >= size || index < 0)
+            throw new IndexOutOfBoundsException("Index out of bounds");
+
+        Node<E>[] update = newNodeArray(MAX_LEVEL);
+        findPredecessors(index, update, new int[MAX_LEVEL]);
+
+        Node<E> target = update[0].next[0];
+        for (int lvl = 0; lvl < level; lvl++) {
+            if (update[lvl].next[lvl] == target) {
+                update[lvl].span[lvl] += target.span[lvl] - 1;
+                update[lvl].next[lvl] = target.next[lvl];
+            } else {
+                update[lvl].span[lvl]--;
+            }
+        }
+
+        while (level > 1 && head.next[level - 1] == null)
+            level--;
+
+        if (target == last)
+            last = update[0];
+        size--;
+        return target.data;
+    }
+
+    public boolean removeFirst() {
+        if (size == 0)
+            return false;
+
+        remove(0);
+        return true;
+    }
+
+    public boolean removeLast() {
+        if (size == 0)
+            return false;
+
+        remove(size - 1);
+        return true;
+    }
+
+    /**
+     * Removes all elements from the list.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     */
+    public void removeAll() {
+        for (int lvl = 0; lvl < level; lvl++)
+            head.next[lvl] = null;
+
+        head.span[0] = 1;
+        level = 1;
+        last = head;
+        size = 0;
+    }
+
+    /**
+     * Retrieves element at specified index (0-indexed)
+     *
+     * @param index Position to get element from
+     * @return Element at given index
+     * Time Complexity: O(log n) expected
+     * Space Complexity: O(1)
+     */
+    public E get(int index) {
+        if (index >= size || index < 0)
+            throw new IndexOutOfBoundsException("Index out of bounds");
+
+        return nodeAt(index + 1).data;
+    }
+
+    /**
+     * Replaces the element at specified index (0-indexed)
+     *
+     * @param index Position of the element
+     * @param element The new value
+     * @return The replaced element
+     * Time Complexity: O(log n) expected
+     * Space Complexity: O(1)
+     */
+    public E set(int index, E element) {
+        if (index >= size || index < 0)
+            throw new IndexOutOfBoundsException("Index out of bounds");
+
+        Node<E> node = nodeAt(index + 1);
+        E old = node.data;
+        node.data = element;
+        return old;
+    }
+
+    public E getFirst() {
+        if (size == 0)
+            throw new NullPointerException("LinkedList is empty");
+
+        return head.next[0].data;
+    }
+
+    public E getLast() {
+        if (size == 0)
+            throw new NullPointerException("LinkedList is empty");
+
+        return last.data;
+    }
+
+    /**
+     * Retrieves element at specified position in forward (1-indexed)
+     * Time Complexity: O(log n) expected
+     */
+    public E getNthForward(int nth) {
+        if (nth <= 0 || nth > size)
+            throw new IllegalArgumentException("Index out of bounds");
+
+        return nodeAt(nth).data;
+    }
+
+    /**
+     * Retrieves element at specified position in reverse (1-indexed)
+     * Time Complexity: O(log n) expected
+     */
+    public E getNthReverse(int nth) {
+        if (nth <= 0 || nth > size)
+            throw new IllegalArgumentException("Index out of bounds");
+
+        return nodeAt(size - nth + 1).data;
+    }
+
+    /**
+     * Searches for a specific element, scanning level 0.
+     *
+     * @param element The value to search for in the list
+     * @return The index of the element if found, -1 otherwise
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     */
+    public int linearSearch(E element) {
+        Node<E> curr = head.next[0];
+        for (int i = 0; curr != null; i++) {
+            if (curr.data.equals(element))
+                return i;
+
+            curr = curr.next[0];
+        }
+        return -1;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns an iterator walking level 0 from the first element, O(1) per step.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private Node<E> curr = head.next[0];
+
+            @Override
+            public boolean hasNext() {
+                return curr != null;
+            }
+
+            @Override
+            public E next() {
+                if (curr == null)
+                    throw new NoSuchElementException();
+
+                E data = curr.data;
+                curr = curr.next[0];
+                return data;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder strList = new StringBuilder();
+        strList.append("[");
+
+        Node<E> curr = head.next[0];
+        while (curr != null) {
+            strList.append(curr.data);
+            if (curr.next[0] != null)
+                strList.append(", ");
+
+            curr = curr.next[0];
+        }
+
+        strList.append("]");
+        return strList.toString();
+    }
+
+    // Node at a position in 1..size, descending from the top lane while the spans don't overshoot.
+    private Node<E> nodeAt(int pos) {
+        Node<E> curr = head;
+        int currPos = 0;
+
+        for (int lvl = level - 1; lvl >= 0; lvl--) {
+            while (curr.next[lvl] != null && currPos + curr.span[lvl] <= pos) {
+                currPos += curr.span[lvl];
+                curr = curr.next[lvl];
+            }
+            if (currPos == pos)
+                break;
+        }
+
+        return curr;
+    }
+
+    // Fills update[l] with the last node at level l before position index + 1, and rank[l] with its position.
+    private void findPredecessors(int index, Node<E>[] update, int[] rank) {
+        Node<E> curr = head;
+        int currPos = 0;
+
+        for (int lvl = level - 1; lvl >= 0; lvl--) {
+            while (curr.next[lvl] != null && currPos + curr.span[lvl] <= index) {
+                currPos += curr.span[lvl];
+                curr = curr.next[lvl];
+            }
+            update[lvl] = curr;
+            rank[lvl] = currPos;
+        }
+    }
+
+    // k levels with probability 2^-k, from the trailing zeros of one random int.
+    private static int randomLevel() {
+        return 1 + Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E>[] newNodeArray(int length) {
+        return (Node<E>[]) new Node<?>[length];
+    }
+
+    /**
+     * Node with one next link and one span per level.
+     */
+    private static class Node<E> {
+        E data;
+        final Node<E>[] next;
+        final int[] span;
+
+        Node(E data, int height) {
+            this.data = data;
+            this.next = newNodeArray(height);
+            this.span = new int[height];
+        }
+    }
+}
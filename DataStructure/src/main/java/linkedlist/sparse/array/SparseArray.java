@@ -29,6 +29,8 @@ public class SparseArray {
     private int size;
     // The number of elements currently in the array
     private int arraySize;
+    // Nodes dropped by scale(0), chained through next and reused by later inserts instead of allocating
+    private ArrayNode spare;
 
     /**
      * Constructs a new sparse array with the specified size.
@@ -47,9 +49,10 @@ public class SparseArray {
      * 
      * @param data The value to be stored
      * @param index The index at which to store the value
-     * @throws NullPointerException If the index node cannot be created
+     * @throws IllegalArgumentException If the index is out of range
      */
     public void setValue(int data, int index){
+       checkIndex(index);
        Objects.requireNonNull(getIndex(index, true)).data = data; // Ensures the returned node is not null
     }
 
@@ -58,8 +61,11 @@ public class SparseArray {
      * 
      * @param index The index from which to retrieve the value
      * @return The value at the specified index, or 0 if the index doesn't exist
+     * @throws IllegalArgumentException If the index is out of range
      */
     public int getValue(int index){
+        checkIndex(index);
+
         ArrayNode node = getIndex(index,false);
         if(node != null)
             return node.data;
@@ -104,6 +110,9 @@ public class SparseArray {
     /**
      * Adds the elements of another sparse array to this array.
      * Both arrays must have the same size.
+     * Both lists are sorted by index, so they are walked together in one pass: the position in this list only
+     * moves forward, and missing indices are linked in right where the walk stands.
+     * Time complexity: O(n + m) where n and m are the numbers of elements of the two arrays
      * 
      * @param secList The second sparse array to add
      * @throws IllegalArgumentException If the array sizes don't match
@@ -112,16 +121,138 @@ public class SparseArray {
         if (this.arraySize != secList.arraySize)
             throw new IllegalArgumentException("Array sizes must be the same!");
 
-        ArrayNode secCurr = secList.first.next;
-        ArrayNode curr = null;
-        while (secCurr != null) {
-            curr = getIndex(secCurr.index, true);
-            assert curr != null;
-            curr.data += secCurr.data;
-            secCurr = secCurr.next;
+        ArrayNode prev = first;
+        for (ArrayNode secCurr = secList.first.next; secCurr != null; secCurr = secCurr.next) {
+            while (prev.next != null && prev.next.index < secCurr.index)
+                prev = prev.next;
+
+            if (prev.next != null && prev.next.index == secCurr.index)
+                prev.next.data += secCurr.data;
+            else
+                prev = insertAfter(prev, secCurr.data, secCurr.index);
         }
     }
 
+    /**
+     * Multiplies this array element by element with another one, merging the two sorted lists.
+     * Only indices present in both can be non-zero, so the result holds at most min(n, m) elements.
+     * Time complexity: O(n + m)
+     *
+     * @param secList The second sparse array
+     * @return A new sparse array holding the products
+     * @throws IllegalArgumentException If the array sizes don't match
+     */
+    public SparseArray multiplyElementWise(SparseArray secList) {
+        if (this.arraySize != secList.arraySize)
+            throw new IllegalArgumentException("Array sizes must be the same!");
+
+        SparseArray result = new SparseArray(arraySize);
+        ArrayNode curr = first.next, secCurr = secList.first.next;
+
+        while (curr != null && secCurr != null) {
+            if (curr.index < secCurr.index) {
+                curr = curr.next;
+            } else if (curr.index > secCurr.index) {
+                secCurr = secCurr.next;
+            } else {
+                if (curr.data * secCurr.data != 0)
+                    result.append(curr.index, curr.data * secCurr.data);
+                curr = curr.next;
+                secCurr = secCurr.next;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Computes the dot product with a dense vector.
+     * Time complexity: O(n) where n is the number of elements
+     *
+     * @param vector The dense vector, of the same size as this array
+     * @return The sum of the products
+     * @throws IllegalArgumentException If the sizes don't match
+     */
+    public int dot(int[] vector) {
+        if (vector.length != arraySize)
+            throw new IllegalArgumentException("Array sizes must be the same!");
+
+        int sum = 0;
+        for (ArrayNode curr = first.next; curr != null; curr = curr.next)
+            sum += curr.data * vector[curr.index];
+
+        return sum;
+    }
+
+    /**
+     * Multiplies every element by a scalar. Scaling by zero drops all the nodes onto the spare chain, so refilling
+     * the array afterwards reuses them rather than allocating.
+     * Time complexity: O(1) for a zero factor, O(n) otherwise where n is the number of elements
+     *
+     * @param factor The scalar
+     */
+    public void scale(int factor) {
+        if (factor == 0) {
+            if (first != last) {
+                last.next = spare;
+                spare = first.next;
+            }
+            first.next = null;
+            last = first;
+            size = 1;
+            return;
+        }
+
+        for (ArrayNode curr = first.next; curr != null; curr = curr.next)
+            curr.data *= factor;
+    }
+
+    /**
+     * Appends an element after the last one in O(1), for building an array in increasing index order.
+     *
+     * @param index The index of the element, greater than every index already stored
+     * @param data The value to be stored
+     * @throws IllegalArgumentException If the index is out of range or doesn't come after the last stored index
+     */
+    public void append(int index, int data) {
+        checkIndex(index);
+        if (last != first && index <= last.index)
+            throw new IllegalArgumentException("Indices must be appended in increasing order!");
+
+        insertAfter(last, data, index);
+    }
+
+    public int getArraySize() {
+        return arraySize;
+    }
+
+    /**
+     * Checks if no element is stored.
+     *
+     * @return true if the list holds no nodes
+     */
+    public boolean isEmpty() {
+        return first.next == null;
+    }
+
+    /**
+     * Calls the action with the index and value of every stored non-zero element, in increasing index order.
+     *
+     * @param action The callback receiving each index and value
+     */
+    public void forEachNonZero(EntryConsumer action) {
+        for (ArrayNode curr = first.next; curr != null; curr = curr.next)
+            if (curr.data != 0)
+                action.accept(curr.index, curr.data);
+    }
+
+    /**
+     * Receives the elements of a sparse array without boxing them.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int index, int value);
+    }
 
 //    public <T extends Number> void addTwoLists(SparseArray<T> secList){
 //        if(this.arraySize != secList.arraySize)
@@ -175,7 +306,7 @@ public class SparseArray {
     }
 
     /**
-     * Inserts a new node after the specified node.
+     * Inserts a new node after the specified node, taking it from the spare chain when one is available.
      * 
      * @param nodeBefore The node after which to insert
      * @param data The data value for the new node
@@ -183,7 +314,14 @@ public class SparseArray {
      * @return The newly created node
      */
     private ArrayNode insertAfter(ArrayNode nodeBefore, int data, int index) {
-        ArrayNode newNode = new ArrayNode(data,index);
+        ArrayNode newNode = spare;
+        if (newNode == null) {
+            newNode = new ArrayNode(data, index);
+        } else {
+            spare = newNode.next;
+            newNode.data = data;
+            newNode.index = index;
+        }
 
         newNode.next = nodeBefore.next;
         linkNodes(nodeBefore,newNode);
@@ -196,6 +334,11 @@ public class SparseArray {
         return newNode;
     }
 
+    private void checkIndex(int index) {
+        if (0 > index || arraySize <= index)
+            throw new IllegalArgumentException("Invalid Index");
+    }
+
     /**
      * Links two nodes together in the doubly-linked list.
      * 
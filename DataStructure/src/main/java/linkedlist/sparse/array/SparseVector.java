@@ -0,0 +1,381 @@
+package linkedlist.sparse.array;
+
+import java.util.Arrays;
+
+/**
+ * An array-backed sparse vector: the non-zero elements are kept in two parallel arrays sorted by index.
+ * <p>
+ * Compared with the linked {@link SparseArray}, lookups are a binary search instead of a scan from the head,
+ * writes in increasing index order are amortized O(1) appends, and two vectors are combined by walking both
+ * arrays together, with no pointer chasing and no node objects.
+ * </p>
+ * <p>
+ * Time complexity for operations:
+ * - Access: O(log n) where n is the number of non-zero elements
+ * - Append in index order: O(1) amortized
+ * - Insertion or deletion out of order: O(n)
+ * - Add, dot product, cosine similarity: O(n + m)
+ * </p>
+ * <p>
+ * Space complexity: O(n)
+ * </p>
+ */
+public class SparseVector {
+    private static final int DEFAULT_CAPACITY = 8;
+
+    // Indices of the non-zero elements, strictly increasing in [0, nonZeros)
+    private int[] indices;
+    // values[i] is the element at indices[i], never 0
+    private int[] values;
+    // The number of non-zero elements stored
+    private int nonZeros;
+    // The logical size of the vector
+    private final int size;
+
+    /**
+     * Constructs a new zero vector with the specified size.
+     *
+     * @param size The logical size of the vector
+     */
+    public SparseVector(int size) {
+        this(size, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new zero vector with room for the given number of non-zeros before growing.
+     *
+     * @param size The logical size of the vector
+     * @param capacity The expected number of non-zero elements
+     */
+    public SparseVector(int size, int capacity) {
+        if (size < 0 || capacity < 0)
+            throw new IllegalArgumentException("Size and capacity can't be negative");
+
+        this.size = size;
+        this.indices = new int[capacity];
+        this.values = new int[capacity];
+    }
+
+    /**
+     * Copies a linked sparse array.
+     * Time complexity: O(n)
+     *
+     * @param array The sparse array to copy
+     * @return The vector holding the non-zero elements of the array
+     */
+    public static SparseVector from(SparseArray array) {
+        SparseVector vector = new SparseVector(array.getArraySize());
+        array.forEachNonZero(vector::append);
+        return vector;
+    }
+
+    /**
+     * Sets the value at the specified index. Setting a zero removes the element.
+     * Time complexity: O(log n) to find the position, O(1) amortized at the end, O(n) to shift otherwise
+     *
+     * @param data The value to be stored
+     * @param index The index at which to store the value
+     * @throws IllegalArgumentException If the index is out of range
+     */
+    public void setValue(int data, int index) {
+        checkIndex(index);
+
+        int pos = find(index);
+        if (pos >= 0) {
+            if (data != 0) {
+                values[pos] = data;
+            } else { // drop the element
+                System.arraycopy(indices, pos + 1, indices, pos, nonZeros - pos - 1);
+                System.arraycopy(values, pos + 1, values, pos, nonZeros - pos - 1);
+                --nonZeros;
+            }
+            return;
+        }
+
+        if (data == 0)
+            return;
+
+        pos = -pos - 1;
+        ensureCapacity(nonZeros + 1);
+        System.arraycopy(indices, pos, indices, pos + 1, nonZeros - pos);
+        System.arraycopy(values, pos, values, pos + 1, nonZeros - pos);
+        indices[pos] = index;
+        values[pos] = data;
+        ++nonZeros;
+    }
+
+    /**
+     * Gets the value at the specified index.
+     * Time complexity: O(log n)
+     *
+     * @param index The index from which to retrieve the value
+     * @return The value at the specified index, or 0 if it isn't stored
+     * @throws IllegalArgumentException If the index is out of range
+     */
+    public int getValue(int index) {
+        checkIndex(index);
+
+        int pos = find(index);
+        return pos >= 0 ? values[pos] : 0;
+    }
+
+    /**
+     * Appends an element after the last one, for building a vector in increasing index order. Zeros are skipped.
+     * Time complexity: O(1) amortized
+     *
+     * @param index The index of the element, greater than every index already stored
+     * @param data The value to be stored
+     * @throws IllegalArgumentException If the index is out of range or doesn't come after the last stored index
+     */
+    public void append(int index, int data) {
+        checkIndex(index);
+        if (nonZeros > 0 && index <= indices[nonZeros - 1])
+            throw new IllegalArgumentException("Indices must be appended in increasing order!");
+
+        if (data == 0)
+            return;
+
+        ensureCapacity(nonZeros + 1);
+        indices[nonZeros] = index;
+        values[nonZeros++] = data;
+    }
+
+    /**
+     * Appends a batch of elements in increasing index order, growing the arrays once for the whole batch.
+     * Time complexity: O(k) where k is the length of the batch
+     *
+     * @param batchIndices The indices, strictly increasing and greater than every index already stored
+     * @param batchValues The values, zeros are skipped
+     * @throws IllegalArgumentException If the arrays differ in length or an index is out of order or range
+     */
+    public void appendAll(int[] batchIndices, int[] batchValues) {
+        if (batchIndices.length != batchValues.length)
+            throw new IllegalArgumentException("Array sizes must be the same!");
+
+        ensureCapacity(nonZeros + batchIndices.length);
+        for (int i = 0; i < batchIndices.length; i++)
+            append(batchIndices[i], batchValues[i]);
+    }
+
+    /**
+     * Adds another vector to this one, merging the two sorted index arrays into a new vector.
+     * Time complexity: O(n + m)
+     *
+     * @param other The vector to add
+     * @return A new vector holding the sum, without zeros
+     * @throws IllegalArgumentException If the vector sizes don't match
+     */
+    public SparseVector add(SparseVector other) {
+        checkSize(other);
+
+        SparseVector result = new SparseVector(size, nonZeros + other.nonZeros);
+        int i = 0, j = 0, k = 0;
+
+        while (i < nonZeros && j < other.nonZeros) {
+            if (indices[i] < other.indices[j]) {
+                result.indices[k] = indices[i];
+                result.values[k++] = values[i++];
+            } else if (indices[i] > other.indices[j]) {
+                result.indices[k] = other.indices[j];
+                result.values[k++] = other.values[j++];
+            } else {
+                int sum = values[i] + other.values[j];
+                if (sum != 0) {
+                    result.indices[k] = indices[i];
+                    result.values[k++] = sum;
+                }
+                ++i;
+                ++j;
+            }
+        }
+
+        for (; i < nonZeros; i++, k++) {
+            result.indices[k] = indices[i];
+            result.values[k] = values[i];
+        }
+        for (; j < other.nonZeros; j++, k++) {
+            result.indices[k] = other.indices[j];
+            result.values[k] = other.values[j];
+        }
+
+        result.nonZeros = k;
+        return result;
+    }
+
+    /**
+     * Computes the dot product with another vector. Only indices stored by both contribute, so the arrays are
+     * walked together; when one vector is much shorter, each of its indices is binary searched in the other
+     * instead, from where the previous search stopped.
+     * Time complexity: O(min(n + m, n log m)) where n is the shorter one
+     *
+     * @param other The second vector
+     * @return The dot product, accumulated in a long
+     * @throws IllegalArgumentException If the vector sizes don't match
+     */
+    public long dot(SparseVector other) {
+        checkSize(other);
+
+        SparseVector small = nonZeros <= other.nonZeros ? this : other;
+        SparseVector large = small == this ? other : this;
+
+        long sum = 0;
+        if ((long) small.nonZeros * (32 - Integer.numberOfLeadingZeros(large.nonZeros)) < large.nonZeros) {
+            // n log m < m: search instead of merge
+            int from = 0;
+            for (int i = 0; i < small.nonZeros && from < large.nonZeros; i++) {
+                int pos = Arrays.binarySearch(large.indices, from, large.nonZeros, small.indices[i]);
+                if (pos >= 0) {
+                    sum += (long) small.values[i] * large.values[pos];
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+            }
+            return sum;
+        }
+
+        int i = 0, j = 0;
+        while (i < nonZeros && j < other.nonZeros) {
+            if (indices[i] < other.indices[j])
+                ++i;
+            else if (indices[i] > other.indices[j])
+                ++j;
+            else
+                sum += (long) values[i++] * other.values[j++];
+        }
+
+        return sum;
+    }
+
+    /**
+     * Computes the dot product with a dense vector.
+     * Time complexity: O(n)
+     *
+     * @param vector The dense vector, of the same size as this one
+     * @return The dot product, accumulated in a long
+     * @throws IllegalArgumentException If the sizes don't match
+     */
+    public long dot(int[] vector) {
+        if (vector.length != size)
+            throw new IllegalArgumentException("Array sizes must be the same!");
+
+        long sum = 0;
+        for (int i = 0; i < nonZeros; i++)
+            sum += (long) values[i] * vector[indices[i]];
+
+        return sum;
+    }
+
+    /**
+     * Returns the Euclidean length of the vector.
+     * Time complexity: O(n)
+     *
+     * @return The square root of the sum of the squared elements
+     */
+    public double norm() {
+        double sum = 0;
+        for (int i = 0; i < nonZeros; i++)
+            sum += (double) values[i] * values[i];
+
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * Computes the cosine of the angle between this vector and another one.
+     * Time complexity: O(n + m)
+     *
+     * @param other The second vector
+     * @return The cosine similarity in [-1, 1], or 0 if either vector is all zeros
+     * @throws IllegalArgumentException If the vector sizes don't match
+     */
+    public double cosineSimilarity(SparseVector other) {
+        double norms = norm() * other.norm();
+        if (norms == 0)
+            return 0;
+
+        return dot(other) / norms;
+    }
+
+    /**
+     * Copies the vector into a linked sparse array, appending in index order.
+     * Time complexity: O(n)
+     *
+     * @return The sparse array
+     */
+    public SparseArray toSparseArray() {
+        SparseArray array = new SparseArray(size);
+        for (int i = 0; i < nonZeros; i++)
+            array.append(indices[i], values[i]);
+
+        return array;
+    }
+
+    /**
+     * Calls the action with the index and value of every non-zero element, in increasing index order.
+     *
+     * @param action The callback receiving each index and value
+     */
+    public void forEachNonZero(SparseArray.EntryConsumer action) {
+        for (int i = 0; i < nonZeros; i++)
+            action.accept(indices[i], values[i]);
+    }
+
+    /**
+     * Prints all elements of the vector, including zeros.
+     */
+    public void printArr() {
+        StringBuilder sb = new StringBuilder();
+        for (int indx = 0, pos = 0; indx < size; indx++) {
+            if (pos < nonZeros && indices[pos] == indx)
+                sb.append(values[pos++]).append(' ');
+            else
+                sb.append("0 ");
+        }
+        System.out.println(sb);
+    }
+
+    /**
+     * Prints only the non-zero elements of the vector.
+     */
+    public void printArrNonZero() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < nonZeros; i++)
+            sb.append(values[i]).append(' ');
+        System.out.println(sb);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int nonZeros() {
+        return nonZeros;
+    }
+
+    // Position of index in indices, or -(insertion point) - 1 as in Arrays.binarySearch.
+    private int find(int index) {
+        if (nonZeros > 0 && index > indices[nonZeros - 1]) // appends skip the search
+            return -nonZeros - 1;
+
+        return Arrays.binarySearch(indices, 0, nonZeros, index);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= indices.length)
+            return;
+
+        int newCapacity = Math.max(capacity, Math.max(DEFAULT_CAPACITY, indices.length + (indices.length >> 1)));
+        indices = Arrays.copyOf(indices, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IllegalArgumentException("Invalid Index");
+    }
+
+    private void checkSize(SparseVector other) {
+        if (size != other.size)
+            throw new IllegalArgumentException("Array sizes must be the same!");
+    }
+}
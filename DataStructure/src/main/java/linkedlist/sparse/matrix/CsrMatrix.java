@@ -0,0 +1,400 @@
+package linkedlist.sparse.matrix;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable sparse matrix in compressed sparse row (CSR) form, the array-based counterpart of the linked-list
+ * {@link SparseMatrix}. Row r owns the slots rowPtr[r] .. rowPtr[r + 1] - 1 of colIdx and values, with columns
+ * sorted inside each row, so a whole matrix is three flat arrays that arithmetic kernels stream through.
+ * The transpose of a CSR matrix is the compressed sparse column (CSC) form of the original: {@link #transpose()}
+ * gives column-wise access.
+ * <p>
+ * Time complexity for operations:
+ * - Access: O(log k) where k is the number of non-zero elements in the row
+ * - Matrix-vector multiplication: O(nnz)
+ * - Transpose: O(nnz + rows + cols)
+ * </p>
+ * <p>
+ * Space complexity: O(nnz + rows)
+ * </p>
+ */
+public class CsrMatrix {
+    private static final int MIN_PARALLEL_NNZ = 1 << 15; // below this, forking costs more than it saves
+
+    private final int rows;
+    private final int cols;
+    final int[] rowPtr;
+    final int[] colIdx;
+    final double[] values;
+
+    CsrMatrix(int rows, int cols, int[] rowPtr, int[] colIdx, double[] values) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+
+    /**
+     * Converts a linked-list sparse matrix to CSR.
+     * Time Complexity: O(nnz + rows)
+     * Space Complexity: O(nnz + rows)
+     *
+     * @param matrix The matrix to convert
+     * @return The CSR copy
+     */
+    public static CsrMatrix from(SparseMatrix matrix) {
+        Builder builder = new Builder(matrix.getRows(), matrix.getCols());
+        matrix.forEachNonZero(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Gets the value at the specified row and column.
+     *
+     * @param row The row of the value
+     * @param col The column of the value
+     * @return The value, or 0 if it isn't stored
+     */
+    public double getValue(int row, int col) {
+        checkIndex(row, col);
+
+        int pos = Arrays.binarySearch(colIdx, rowPtr[row], rowPtr[row + 1], col);
+        return pos >= 0 ? values[pos] : 0;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int nonZeros() {
+        return rowPtr[rows];
+    }
+
+    /**
+     * Multiplies this matrix by a dense vector (SpMV).
+     * Time Complexity: O(nnz + rows)
+     * Space Complexity: O(rows) for the result
+     *
+     * @param x The vector, of length cols
+     * @return The product, of length rows
+     * @throws IllegalArgumentException If the vector length doesn't match
+     */
+    public double[] multiply(double[] x) {
+        if (x.length != cols)
+            throw new IllegalArgumentException("Vector length must match the number of columns!");
+
+        double[] y = new double[rows];
+        multiplyRows(x, y, 0, rows);
+        return y;
+    }
+
+    /**
+     * Multiplies this matrix by a dense vector, splitting the rows into ranges of about equal non-zero count
+     * that are computed in parallel. Each range writes its own slice of the result, so no synchronization is needed.
+     * Time Complexity: O((nnz + rows) / p) where p is the parallelism
+     * Space Complexity: O(rows) for the result
+     *
+     * @param x The vector, of length cols
+     * @return The product, of length rows
+     * @throws IllegalArgumentException If the vector length doesn't match
+     */
+    public double[] parallelMultiply(double[] x) {
+        if (x.length != cols)
+            throw new IllegalArgumentException("Vector length must match the number of columns!");
+
+        double[] y = new double[rows];
+        int nnz = nonZeros();
+        int parts = (int) Math.min(Runtime.getRuntime().availableProcessors() * 4L, Math.max(1, nnz / MIN_PARALLEL_NNZ));
+
+        if (parts <= 1) {
+            multiplyRows(x, y, 0, rows);
+            return y;
+        }
+
+        int[] bounds = new int[parts + 1]; // row ranges balanced on non-zeros, not on rows
+        for (int p = 1; p < parts; ++p)
+            bounds[p] = Math.max(bounds[p - 1], firstRowWithPtrAtLeast((int) ((long) nnz * p / parts)));
+        bounds[parts] = rows;
+
+        IntStream.range(0, parts).parallel().forEach(p -> multiplyRows(x, y, bounds[p], bounds[p + 1]));
+        return y;
+    }
+
+    /**
+     * Multiplies this matrix by another sparse matrix (SpGEMM) with Gustavson's row-by-row algorithm:
+     * row r of the product accumulates values[k] * (row colIdx[k] of other) into a dense accumulator.
+     * Time Complexity: O(flops + rows + sum of k log k) where flops is the number of scalar products and the
+     * last term sorts the k columns of each result row
+     * Space Complexity: O(nnz of the result + other.cols) for the accumulator
+     *
+     * @param other The right-hand matrix
+     * @return The product
+     * @throws IllegalArgumentException If the dimensions don't match
+     */
+    public CsrMatrix multiply(CsrMatrix other) {
+        if (cols != other.rows)
+            throw new IllegalArgumentException("Columns of the first matrix must match rows of the second!");
+
+        double[] acc = new double[other.cols];
+        int[] marker = new int[other.cols];  // marker[c] == r + 1 when column c is already in row r
+        int[] touched = new int[other.cols];
+
+        int[] resPtr = new int[rows + 1];
+        int[] resCols = new int[Math.max(16, nonZeros())];
+        double[] resVals = new double[resCols.length];
+        int count = 0;
+
+        for (int r = 0; r < rows; ++r) {
+            int width = 0;
+
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; ++k) {
+                int mid = colIdx[k];
+                double a = values[k];
+
+                for (int j = other.rowPtr[mid]; j < other.rowPtr[mid + 1]; ++j) {
+                    int c = other.colIdx[j];
+                    if (marker[c] != r + 1) {
+                        marker[c] = r + 1;
+                        acc[c] = 0;
+                        touched[width++] = c;
+                    }
+                    acc[c] += a * other.values[j];
+                }
+            }
+
+            Arrays.sort(touched, 0, width);
+            if (count + width > resCols.length) {
+                int newLength = Math.max(count + width, resCols.length * 2);
+                resCols = Arrays.copyOf(resCols, newLength);
+                resVals = Arrays.copyOf(resVals, newLength);
+            }
+
+            for (int i = 0; i < width; ++i) {
+                if (acc[touched[i]] != 0) { // drop cancellations
+                    resCols[count] = touched[i];
+                    resVals[count++] = acc[touched[i]];
+                }
+            }
+            resPtr[r + 1] = count;
+        }
+
+        return new CsrMatrix(rows, other.cols, resPtr, Arrays.copyOf(resCols, count), Arrays.copyOf(resVals, count));
+    }
+
+    /**
+     * Returns the transpose by counting sort on the columns. Since rows are scanned in order, the columns of the
+     * result come out sorted without any comparison sort.
+     * Time Complexity: O(nnz + rows + cols)
+     * Space Complexity: O(nnz + cols)
+     *
+     * @return The transposed matrix, i.e. this matrix in CSC form
+     */
+    public CsrMatrix transpose() {
+        int nnz = nonZeros();
+        int[] tPtr = new int[cols + 1];
+        int[] tCols = new int[nnz];
+        double[] tVals = new double[nnz];
+
+        for (int k = 0; k < nnz; ++k)
+            tPtr[colIdx[k] + 1]++;
+        for (int c = 0; c < cols; ++c)
+            tPtr[c + 1] += tPtr[c];
+
+        int[] next = Arrays.copyOf(tPtr, cols);
+        for (int r = 0; r < rows; ++r) {
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; ++k) {
+                int pos = next[colIdx[k]]++;
+                tCols[pos] = r;
+                tVals[pos] = values[k];
+            }
+        }
+
+        return new CsrMatrix(cols, rows, tPtr, tCols, tVals);
+    }
+
+    /**
+     * Calls the action with the row, column and value of every stored element, in row-major order.
+     *
+     * @param action The callback receiving each row, column and value
+     */
+    public void forEachNonZero(EntryConsumer action) {
+        for (int r = 0; r < rows; ++r)
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; ++k)
+                action.accept(r, colIdx[k], values[k]);
+    }
+
+    /**
+     * Prints all elements of the matrix, including zeros.
+     */
+    public void printMatrix() {
+        for (int r = 0; r < rows; ++r) {
+            StringBuilder sb = new StringBuilder();
+            int k = rowPtr[r];
+
+            for (int c = 0; c < cols; ++c) {
+                if (k < rowPtr[r + 1] && colIdx[k] == c)
+                    sb.append(values[k++]).append(' ');
+                else
+                    sb.append("0 ");
+            }
+            System.out.println(sb);
+        }
+    }
+
+    private void multiplyRows(double[] x, double[] y, int fromRow, int toRow) {
+        for (int r = fromRow; r < toRow; ++r) {
+            double sum = 0;
+            for (int k = rowPtr[r]; k < rowPtr[r + 1]; ++k)
+                sum += values[k] * x[colIdx[k]];
+            y[r] = sum;
+        }
+    }
+
+    // Smallest row r with rowPtr[r] >= target, i.e. the row where the target-th non-zero starts or lies.
+    private int firstRowWithPtrAtLeast(int target) {
+        int lo = 0, hi = rows;
+
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (rowPtr[mid] < target) lo = mid + 1;
+            else hi = mid;
+        }
+
+        return lo;
+    }
+
+    private void checkIndex(int row, int col) {
+        if (0 > row || row >= rows)
+            throw new IllegalArgumentException("Invalid Row Number");
+
+        if (0 > col || col >= cols)
+            throw new IllegalArgumentException("Invalid Column Number");
+    }
+
+    /**
+     * Receives the elements of a CSR matrix without boxing them.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int row, int col, double value);
+    }
+
+    /**
+     * Collects (row, column, value) entries in any order and compresses them into a {@link CsrMatrix}.
+     * Entries are grouped by a counting sort on the rows, columns are sorted inside each row only when they
+     * arrived out of order, entries given twice for the same cell are summed and zeros are dropped.
+     */
+    public static class Builder {
+        private final int rows;
+        private final int cols;
+        private int[] entryRows = new int[16];
+        private int[] entryCols = new int[16];
+        private double[] entryVals = new double[16];
+        private int count;
+
+        public Builder(int rows, int cols) {
+            if (rows < 0 || cols < 0)
+                throw new IllegalArgumentException("Matrix dimensions can't be negative");
+
+            this.rows = rows;
+            this.cols = cols;
+        }
+
+        /**
+         * Adds an entry, summed with any other entry of the same cell.
+         * Time Complexity: O(1) amortized
+         *
+         * @return This builder
+         */
+        public Builder add(int row, int col, double value) {
+            if (0 > row || row >= rows)
+                throw new IllegalArgumentException("Invalid Row Number");
+
+            if (0 > col || col >= cols)
+                throw new IllegalArgumentException("Invalid Column Number");
+
+            if (count == entryRows.length) {
+                entryRows = Arrays.copyOf(entryRows, count * 2);
+                entryCols = Arrays.copyOf(entryCols, count * 2);
+                entryVals = Arrays.copyOf(entryVals, count * 2);
+            }
+
+            entryRows[count] = row;
+            entryCols[count] = col;
+            entryVals[count++] = value;
+            return this;
+        }
+
+        /**
+         * Builds the matrix. The builder can be reused afterwards.
+         * Time Complexity: O(nnz + rows), plus O(k log k) for each row of k entries given out of column order
+         * Space Complexity: O(nnz + rows)
+         *
+         * @return The CSR matrix
+         */
+        public CsrMatrix build() {
+            int[] rowPtr = new int[rows + 1];
+            for (int i = 0; i < count; ++i)
+                rowPtr[entryRows[i] + 1]++;
+            for (int r = 0; r < rows; ++r)
+                rowPtr[r + 1] += rowPtr[r];
+
+            int[] colIdx = new int[count];
+            double[] values = new double[count];
+            int[] next = Arrays.copyOf(rowPtr, rows);
+            for (int i = 0; i < count; ++i) {
+                int pos = next[entryRows[i]]++;
+                colIdx[pos] = entryCols[i];
+                values[pos] = entryVals[i];
+            }
+
+            // sort each row, merge duplicates, drop zeros, compacting everything to the front
+            int write = 0;
+            for (int r = 0; r < rows; ++r) {
+                int start = rowPtr[r], end = rowPtr[r + 1];
+                sortRow(colIdx, values, start, end);
+                rowPtr[r] = write;
+
+                for (int k = start; k < end; ) {
+                    int col = colIdx[k];
+                    double sum = 0;
+                    while (k < end && colIdx[k] == col)
+                        sum += values[k++];
+
+                    if (sum != 0) {
+                        colIdx[write] = col;
+                        values[write++] = sum;
+                    }
+                }
+            }
+            rowPtr[rows] = write;
+
+            return new CsrMatrix(rows, cols, rowPtr, Arrays.copyOf(colIdx, write), Arrays.copyOf(values, write));
+        }
+
+        private static void sortRow(int[] colIdx, double[] values, int start, int end) {
+            boolean sorted = true;
+            for (int k = start + 1; k < end && sorted; ++k)
+                sorted = colIdx[k - 1] <= colIdx[k];
+            if (sorted)
+                return;
+
+            long[] keys = new long[end - start]; // column in the high half, original slot in the low half
+            for (int k = start; k < end; ++k)
+                keys[k - start] = ((long) colIdx[k] << 32) | (k - start);
+            Arrays.sort(keys);
+
+            double[] rowVals = Arrays.copyOfRange(values, start, end);
+            for (int i = 0; i < keys.length; ++i) {
+                colIdx[start + i] = (int) (keys[i] >>> 32);
+                values[start + i] = rowVals[(int) keys[i]];
+            }
+        }
+    }
+}
@@ -0,0 +1,670 @@
+package linkedlist.sparse.matrix;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A read-only CSR matrix answered straight from a memory-mapped file, for matrices that don't fit in the heap.
+ * Opening it maps the file without reading it; the pages of the rows actually used are brought in by the OS.
+ * {@link #slice} gives a view over a range of rows, which is how a large matrix is processed piece by piece
+ * or split between workers. Instances are immutable and safe to share between threads.
+ *
+ * File format (big endian):
+ * - header: int magic, int version, int rows, int cols, long nnz
+ * - rowPtr: rows + 1 longs, row r owns the entries rowPtr[r] .. rowPtr[r + 1] - 1
+ * - values: nnz doubles
+ * - colIdx: nnz ints, sorted inside each row
+ * Every section starts on a multiple of its element size, so the file is mapped in 1 GB windows and no element
+ * straddles two of them; files past the 2 GB limit of a single mapping need no special casing.
+ */
+public class MappedCsrMatrix {
+    static final int MAGIC = 0x4353524D; // "CSRM"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+
+    private static final int WINDOW_SHIFT = 30;
+    private static final long WINDOW_MASK = (1L << WINDOW_SHIFT) - 1;
+    private static final int DEFAULT_CHUNK_ENTRIES = 1 << 22; // 64 MB of keys and values per sorted run
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ByteBuffer[] windows;
+    private final int firstRow;     // first row of the file in this view
+    private final int rows;
+    private final int cols;
+    private final long ptrOffset;
+    private final long valOffset;
+    private final long colOffset;
+
+    private MappedCsrMatrix(ByteBuffer[] windows, int firstRow, int rows, int cols,
+                            long ptrOffset, long valOffset, long colOffset) {
+        this.windows = windows;
+        this.firstRow = firstRow;
+        this.rows = rows;
+        this.cols = cols;
+        this.ptrOffset = ptrOffset;
+        this.valOffset = valOffset;
+        this.colOffset = colOffset;
+    }
+
+    /**
+     * Maps a CSR matrix file into memory. The mapping stays valid after the channel is closed.
+     * Time Complexity: O(size / 1 GB) for the windows
+     * Space Complexity: O(1) on the heap
+     *
+     * @param file a file written by {@link #write} or {@link #convertMatrixMarket}
+     * @return a view over all the rows
+     * @throws IOException if the file cannot be opened or mapped
+     * @throws IllegalArgumentException if the file is not a CSR matrix file
+     */
+    public static MappedCsrMatrix open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE)
+                throw new IllegalArgumentException("Not a CSR matrix file");
+
+            ByteBuffer[] windows = new ByteBuffer[(int) ((length + WINDOW_MASK) >>> WINDOW_SHIFT)];
+            for (int w = 0; w < windows.length; ++w) {
+                long start = (long) w << WINDOW_SHIFT;
+                windows[w] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_MASK + 1, length - start));
+            }
+
+            ByteBuffer header = windows[0];
+            if (header.getInt(0) != MAGIC)
+                throw new IllegalArgumentException("Not a CSR matrix file");
+            if (header.getInt(4) != VERSION)
+                throw new IllegalArgumentException("Unsupported CSR matrix version: " + header.getInt(4));
+
+            int rows = header.getInt(8), cols = header.getInt(12);
+            long nnz = header.getLong(16);
+            long valOffset = HEADER_SIZE + 8L * (rows + 1);
+            if (rows < 0 || cols < 0 || nnz < 0 || nnz > length || valOffset + 12 * nnz != length)
+                throw new IllegalArgumentException("Corrupt CSR matrix file");
+
+            return new MappedCsrMatrix(windows, 0, rows, cols, HEADER_SIZE, valOffset, valOffset + 8 * nnz);
+        }
+    }
+
+    /**
+     * Returns a view over the rows [fromRow, toRow) of this matrix, sharing the mapping.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param fromRow the first row, inclusive
+     * @param toRow the last row, exclusive
+     * @return the view, whose row 0 is fromRow of this matrix
+     * @throws IllegalArgumentException if the range is not within the rows
+     */
+    public MappedCsrMatrix slice(int fromRow, int toRow) {
+        if (fromRow < 0 || fromRow > toRow || toRow > rows)
+            throw new IllegalArgumentException("Invalid Row Range");
+
+        return new MappedCsrMatrix(windows, firstRow + fromRow, toRow - fromRow, cols, ptrOffset, valOffset, colOffset);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public long nonZeros() {
+        return rowPtr(rows) - rowPtr(0);
+    }
+
+    /**
+     * Gets the value at the specified row and column by binary search over the mapped columns of the row.
+     * Time Complexity: O(log k) where k is the number of non-zero elements in the row
+     *
+     * @param row The row of the value, relative to this view
+     * @param col The column of the value
+     * @return The value, or 0 if it isn't stored
+     */
+    public double getValue(int row, int col) {
+        if (0 > row || row >= rows)
+            throw new IllegalArgumentException("Invalid Row Number");
+
+        if (0 > col || col >= cols)
+            throw new IllegalArgumentException("Invalid Column Number");
+
+        long lo = rowPtr(row), hi = rowPtr(row + 1) - 1;
+        while (lo <= hi) {
+            long mid = (lo + hi) >>> 1;
+            int midCol = colAt(mid);
+
+            if (midCol < col) lo = mid + 1;
+            else if (midCol > col) hi = mid - 1;
+            else return valueAt(mid);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Multiplies the rows of this view by a dense vector, streaming through the mapped sections once.
+     * Time Complexity: O(nnz + rows)
+     * Space Complexity: O(rows) for the result
+     *
+     * @param x The vector, of length cols
+     * @return The product, of length rows
+     * @throws IllegalArgumentException If the vector length doesn't match
+     */
+    public double[] multiply(double[] x) {
+        if (x.length != cols)
+            throw new IllegalArgumentException("Vector length must match the number of columns!");
+
+        double[] y = new double[rows];
+        long k = rowPtr(0);
+
+        for (int r = 0; r < rows; ++r) {
+            double sum = 0;
+            for (long end = rowPtr(r + 1); k < end; ++k)
+                sum += valueAt(k) * x[colAt(k)];
+            y[r] = sum;
+        }
+
+        return y;
+    }
+
+    /**
+     * Calls the action with the row, column and value of every stored element, in row-major order.
+     *
+     * @param action The callback receiving each row (relative to this view), column and value
+     */
+    public void forEachNonZero(CsrMatrix.EntryConsumer action) {
+        long k = rowPtr(0);
+
+        for (int r = 0; r < rows; ++r)
+            for (long end = rowPtr(r + 1); k < end; ++k)
+                action.accept(r, colAt(k), valueAt(k));
+    }
+
+    /**
+     * Copies this view onto the heap, e.g. a slice small enough to work on in memory.
+     * Time Complexity: O(nnz + rows)
+     * Space Complexity: O(nnz + rows)
+     *
+     * @return The rows of this view as a {@link CsrMatrix}
+     * @throws IllegalStateException if the view holds more entries than a Java array can
+     */
+    public CsrMatrix toCsrMatrix() {
+        long base = rowPtr(0), nnz = nonZeros();
+        if (nnz > Integer.MAX_VALUE - 8)
+            throw new IllegalStateException("Too many entries to copy onto the heap, slice the rows first");
+
+        int[] rowPtr = new int[rows + 1];
+        for (int r = 1; r <= rows; ++r)
+            rowPtr[r] = (int) (rowPtr(r) - base);
+
+        int[] colIdx = new int[(int) nnz];
+        double[] values = new double[(int) nnz];
+        for (int k = 0; k < nnz; ++k) {
+            colIdx[k] = colAt(base + k);
+            values[k] = valueAt(base + k);
+        }
+
+        return new CsrMatrix(rows, cols, rowPtr, colIdx, values);
+    }
+
+    /**
+     * Writes an in-memory CSR matrix to a file that {@link #open} can map.
+     * Time Complexity: O(nnz + rows)
+     * Space Complexity: O(1) beyond the I/O buffers
+     *
+     * @param matrix the matrix to write
+     * @param target the file to create or overwrite
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(CsrMatrix matrix, Path target) throws IOException {
+        try (CsrFileWriter writer = new CsrFileWriter(target, matrix.getRows(), matrix.getCols())) {
+            for (int r = 0; r < matrix.getRows(); ++r)
+                for (int k = matrix.rowPtr[r]; k < matrix.rowPtr[r + 1]; ++k)
+                    writer.add(r, matrix.colIdx[k], matrix.values[k]);
+
+            writer.finish();
+        }
+    }
+
+    public static MappedCsrMatrix convertMatrixMarket(Path source, Path target) throws IOException {
+        return convertMatrixMarket(source, target, DEFAULT_CHUNK_ENTRIES);
+    }
+
+    /**
+     * Converts a Matrix Market coordinate file (1-based "row col value" lines after a "rows cols nnz" size line)
+     * into a CSR matrix file and maps it. Real, integer and pattern fields are read, and symmetric or
+     * skew-symmetric files are expanded to both triangles. A file without the %%MatrixMarket banner is read as
+     * a general real coordinate list in the same layout.
+     * The text is read once. Entries are collected in chunks, each chunk is sorted by (row, column) and spilled
+     * to a temporary run file when full, and the runs are then merged straight into the output, summing
+     * duplicates and dropping zeros. Memory is bounded by the chunk, whatever the order of the input.
+     * Time Complexity: O(nnz log chunkEntries + nnz log runs + rows)
+     * Space Complexity: O(chunkEntries + runs * buffer) on the heap, O(nnz) of temporary disk space
+     *
+     * @param source the Matrix Market file
+     * @param target the CSR matrix file to create or overwrite
+     * @param chunkEntries the number of entries sorted in memory at a time, 16 bytes each
+     * @return the mapped matrix
+     * @throws IOException if a file cannot be read or written
+     * @throws IllegalArgumentException if the file is malformed or of an unsupported kind
+     */
+    public static MappedCsrMatrix convertMatrixMarket(Path source, Path target, int chunkEntries) throws IOException {
+        if (chunkEntries <= 0)
+            throw new IllegalArgumentException("Chunk size must be positive");
+
+        boolean pattern = false, symmetric = false, skew = false;
+        String[] tokens = new String[5];
+
+        try (BufferedReader reader = Files.newBufferedReader(source);
+             RunSorter sorter = new RunSorter(directoryOf(target), chunkEntries)) {
+            String line = reader.readLine();
+
+            if (line != null && line.startsWith("%%MatrixMarket")) {
+                int count = tokenize(line.toLowerCase(), tokens);
+                if (count < 5 || !tokens[1].equals("matrix") || !tokens[2].equals("coordinate"))
+                    throw new IllegalArgumentException("Only coordinate Matrix Market files are supported");
+
+                switch (tokens[3]) {
+                    case "real", "integer", "double" -> { }
+                    case "pattern" -> pattern = true;
+                    default -> throw new IllegalArgumentException("Unsupported Matrix Market field: " + tokens[3]);
+                }
+                switch (tokens[4]) {
+                    case "general" -> { }
+                    case "symmetric" -> symmetric = true;
+                    case "skew-symmetric" -> skew = true;
+                    default -> throw new IllegalArgumentException("Unsupported Matrix Market symmetry: " + tokens[4]);
+                }
+                line = reader.readLine();
+            }
+
+            while (line != null && (line.isBlank() || line.startsWith("%")))
+                line = reader.readLine();
+
+            if (line == null || tokenize(line, tokens) < 2)
+                throw new IllegalArgumentException("Missing Matrix Market size line");
+
+            int rows = Integer.parseInt(tokens[0]), cols = Integer.parseInt(tokens[1]);
+            if (rows < 0 || cols < 0)
+                throw new IllegalArgumentException("Matrix dimensions can't be negative");
+
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("%"))
+                    continue;
+
+                if (tokenize(line, tokens) < (pattern ? 2 : 3))
+                    throw new IllegalArgumentException("Malformed entry: " + line);
+
+                int row = Integer.parseInt(tokens[0]) - 1, col = Integer.parseInt(tokens[1]) - 1;
+                double value = pattern ? 1 : Double.parseDouble(tokens[2]);
+
+                if (0 > row || row >= rows)
+                    throw new IllegalArgumentException("Invalid Row Number");
+                if (0 > col || col >= cols)
+                    throw new IllegalArgumentException("Invalid Column Number");
+
+                sorter.add(row, col, value);
+                if ((symmetric || skew) && row != col)
+                    sorter.add(col, row, skew ? -value : value); // only one triangle is stored
+            }
+
+            try (CsrFileWriter writer = new CsrFileWriter(target, rows, cols)) {
+                sorter.mergeInto(writer);
+                writer.finish();
+            }
+        }
+
+        return open(target);
+    }
+
+    private long rowPtr(int row) {
+        return getLong(ptrOffset + 8L * (firstRow + row));
+    }
+
+    private int colAt(long k) {
+        long pos = colOffset + 4 * k;
+        return windows[(int) (pos >>> WINDOW_SHIFT)].getInt((int) (pos & WINDOW_MASK));
+    }
+
+    private double valueAt(long k) {
+        long pos = valOffset + 8 * k;
+        return windows[(int) (pos >>> WINDOW_SHIFT)].getDouble((int) (pos & WINDOW_MASK));
+    }
+
+    private long getLong(long pos) {
+        return windows[(int) (pos >>> WINDOW_SHIFT)].getLong((int) (pos & WINDOW_MASK));
+    }
+
+    // Temporary files go next to the target, so the final copy stays on one file system.
+    private static Path directoryOf(Path target) {
+        Path parent = target.toAbsolutePath().getParent();
+        return parent == null ? Path.of(".") : parent;
+    }
+
+    // Cuts the line into at most tokens.length whitespace-separated tokens, returns how many were found.
+    private static int tokenize(String line, String[] tokens) {
+        int count = 0, i = 0, n = line.length();
+
+        while (count < tokens.length) {
+            while (i < n && Character.isWhitespace(line.charAt(i)))
+                ++i;
+            if (i == n)
+                break;
+
+            int start = i;
+            while (i < n && !Character.isWhitespace(line.charAt(i)))
+                ++i;
+            tokens[count++] = line.substring(start, i);
+        }
+
+        return count;
+    }
+
+    /**
+     * Writes a CSR matrix file from entries given in row-major order, without holding them.
+     * rowPtr and values are written in place through positional writes; the columns go to a temporary file,
+     * since their offset depends on the final count, and are appended with one transfer at the end.
+     */
+    private static final class CsrFileWriter implements Closeable {
+        private final FileChannel channel;
+        private final Path colFile;
+        private final DataOutputStream colOut;
+        private final ByteBuffer ptrBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final ByteBuffer valBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final int rows;
+        private final int cols;
+        private long ptrPos;
+        private long valPos;
+        private long nnz;
+        private int nextRow;    // next row whose rowPtr is still to be written
+        private int lastRow = -1;
+        private int lastCol = -1;
+
+        CsrFileWriter(Path target, int rows, int cols) throws IOException {
+            this.rows = rows;
+            this.cols = cols;
+            this.ptrPos = HEADER_SIZE;
+            this.valPos = HEADER_SIZE + 8L * (rows + 1);
+            this.channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.colFile = Files.createTempFile(directoryOf(target), "csr", ".col");
+            this.colOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(colFile), BUFFER_SIZE));
+        }
+
+        void add(int row, int col, double value) throws IOException {
+            if (0 > row || row >= rows)
+                throw new IllegalArgumentException("Invalid Row Number");
+            if (0 > col || col >= cols)
+                throw new IllegalArgumentException("Invalid Column Number");
+            if (row < lastRow || (row == lastRow && col <= lastCol))
+                throw new IllegalArgumentException("Entries must be added in row-major order");
+
+            while (nextRow <= row)
+                putRowPtr();
+
+            if (valBuffer.remaining() < 8)
+                valPos = flush(valBuffer, valPos);
+            valBuffer.putDouble(value);
+            colOut.writeInt(col);
+
+            ++nnz;
+            lastRow = row;
+            lastCol = col;
+        }
+
+        void finish() throws IOException {
+            while (nextRow <= rows)
+                putRowPtr();
+
+            flush(ptrBuffer, ptrPos);
+            valPos = flush(valBuffer, valPos);
+            colOut.close();
+
+            try (FileChannel columns = FileChannel.open(colFile, StandardOpenOption.READ)) {
+                for (long done = 0, size = columns.size(); done < size; )
+                    done += columns.transferTo(done, size - done, channel.position(valPos + done));
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(cols).putLong(nnz);
+            flush(header, 0);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (channel) {
+                colOut.close();
+            } finally {
+                Files.deleteIfExists(colFile);
+            }
+        }
+
+        private void putRowPtr() throws IOException {
+            if (ptrBuffer.remaining() < 8)
+                ptrPos = flush(ptrBuffer, ptrPos);
+            ptrBuffer.putLong(nnz);
+            ++nextRow;
+        }
+
+        private long flush(ByteBuffer buffer, long pos) throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining())
+                pos += channel.write(buffer, pos);
+            buffer.clear();
+            return pos;
+        }
+    }
+
+    /**
+     * External sort of (row, column, value) entries by (row, column). The key packs the row in the high half
+     * and the column in the low half, so one long comparison orders both.
+     */
+    private static final class RunSorter implements Closeable {
+        private final Path directory;
+        private final long[] keys;
+        private final double[] values;
+        private final List<Path> runFiles = new ArrayList<>();
+        private int count;
+
+        RunSorter(Path directory, int chunkEntries) {
+            this.directory = directory;
+            this.keys = new long[chunkEntries];
+            this.values = new double[chunkEntries];
+        }
+
+        void add(int row, int col, double value) throws IOException {
+            if (count == keys.length)
+                spill();
+
+            keys[count] = ((long) row << 32) | col;
+            values[count++] = value;
+        }
+
+        /**
+         * Merges the spilled runs with the chunk still in memory, feeding each cell once to the writer.
+         */
+        void mergeInto(CsrFileWriter writer) throws IOException {
+            sort(keys, values, 0, count);
+
+            List<Run> runs = new ArrayList<>();
+            try {
+                runs.add(new MemoryRun(keys, values, count));
+                for (Path file : runFiles)
+                    runs.add(new FileRun(file));
+
+                PriorityQueue<Run> queue = new PriorityQueue<>(Comparator.comparingLong((Run run) -> run.key));
+                for (Run run : runs)
+                    if (run.advance())
+                        queue.add(run);
+
+                boolean pending = false;
+                long key = 0;
+                double sum = 0;
+
+                while (!queue.isEmpty()) {
+                    Run run = queue.poll();
+
+                    if (pending && run.key == key) {
+                        sum += run.value; // same cell given more than once
+                    } else {
+                        if (pending && sum != 0)
+                            writer.add((int) (key >>> 32), (int) key, sum);
+                        pending = true;
+                        key = run.key;
+                        sum = run.value;
+                    }
+
+                    if (run.advance())
+                        queue.add(run);
+                }
+
+                if (pending && sum != 0)
+                    writer.add((int) (key >>> 32), (int) key, sum);
+            } finally {
+                for (Run run : runs)
+                    run.close();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (Path file : runFiles)
+                Files.deleteIfExists(file);
+        }
+
+        private void spill() throws IOException {
+            sort(keys, values, 0, count);
+
+            Path file = Files.createTempFile(directory, "csr", ".run");
+            runFiles.add(file);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE))) {
+                out.writeInt(count);
+                for (int i = 0; i < count; ++i) {
+                    out.writeLong(keys[i]);
+                    out.writeDouble(values[i]);
+                }
+            }
+
+            count = 0;
+        }
+
+        // Sorts keys[lo, hi) carrying the values along: quicksort around a median of three, insertion sort for
+        // short ranges, and recursion into the smaller part only, so the stack stays O(log n).
+        private static void sort(long[] keys, double[] values, int lo, int hi) {
+            while (hi - lo > 16) {
+                long a = keys[lo], b = keys[(lo + hi) >>> 1], c = keys[hi - 1];
+                long pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+
+                int i = lo, j = hi - 1;
+                while (i <= j) {
+                    while (keys[i] < pivot)
+                        ++i;
+                    while (keys[j] > pivot)
+                        --j;
+                    if (i <= j)
+                        swap(keys, values, i++, j--);
+                }
+
+                if (j + 1 - lo < hi - i) {
+                    sort(keys, values, lo, j + 1);
+                    lo = i;
+                } else {
+                    sort(keys, values, i, hi);
+                    hi = j + 1;
+                }
+            }
+
+            for (int i = lo + 1; i < hi; ++i)
+                for (int j = i; j > lo && keys[j - 1] > keys[j]; --j)
+                    swap(keys, values, j - 1, j);
+        }
+
+        private static void swap(long[] keys, double[] values, int i, int j) {
+            long key = keys[i];
+            keys[i] = keys[j];
+            keys[j] = key;
+
+            double value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    /**
+     * A sorted sequence of entries, positioned on its current entry by advance().
+     */
+    private abstract static class Run implements Closeable {
+        long key;
+        double value;
+
+        abstract boolean advance() throws IOException;
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+    private static final class MemoryRun extends Run {
+        private final long[] keys;
+        private final double[] values;
+        private final int count;
+        private int next;
+
+        MemoryRun(long[] keys, double[] values, int count) {
+            this.keys = keys;
+            this.values = values;
+            this.count = count;
+        }
+
+        @Override
+        boolean advance() {
+            if (next == count)
+                return false;
+
+            key = keys[next];
+            value = values[next++];
+            return true;
+        }
+    }
+
+    private static final class FileRun extends Run {
+        private final DataInputStream in;
+        private int remaining;
+
+        FileRun(Path file) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+            remaining = in.readInt();
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            if (remaining == 0)
+                return false;
+
+            --remaining;
+            key = in.readLong();
+            value = in.readDouble();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
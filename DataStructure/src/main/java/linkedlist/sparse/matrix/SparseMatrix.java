@@ -1,7 +1,11 @@
 package linkedlist.sparse.matrix;
 
 import linkedlist.sparse.array.SparseArray;
+
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * A memory-efficient implementation of a sparse matrix using a linked list structure.
@@ -34,6 +38,9 @@ public class SparseMatrix {
     // The number of columns
     private int cols;
 
+    // Smallest range of rows worth a fork-join task
+    private static final int MIN_ROWS = 64;
+
     /**
      * Constructs a new sparse matrix with the specified rows and columns.
      *
@@ -53,13 +60,13 @@ public class SparseMatrix {
      * @param data The value to be stored
      * @param row The row at which to store the value
      * @param col The column at which to store the value
-     * @throws NullPointerException If the index node cannot be created
+     * @throws IllegalArgumentException If the row or column is out of range
      */
     public void setValue(int data, int row, int col){
-        if (0 > row || rows < row)
+        if (0 > row || rows <= row)
             throw new IllegalArgumentException("Invalid Row Number");
 
-        if (0 > col || cols < col)
+        if (0 > col || cols <= col)
             throw new IllegalArgumentException("Invalid Column Number");
 
         Objects.requireNonNull(getRow(row, true)).arrayList.setValue(data,col);
@@ -71,12 +78,13 @@ public class SparseMatrix {
      * @param row The row from which to retrieve the value
      * @param col The column from which to retrieve the value
      * @return The value at the specified index, or 0 if the index doesn't exist
+     * @throws IllegalArgumentException If the row or column is out of range
      */
     public int getValue(int row,int col){
-        if (0 > row || rows < row)
+        if (0 > row || rows <= row)
             throw new IllegalArgumentException("Invalid Row Number");
 
-        if (0 > col || cols < col)
+        if (0 > col || cols <= col)
             throw new IllegalArgumentException("Invalid Column Number");
 
         RowNode node = getRow(row,false);
@@ -93,9 +101,14 @@ public class SparseMatrix {
      */
     public void printMatrix(){
         RowNode currRow = first.next;
-        for(int row = rows; row > 0; row--) {
-            currRow.arrayList.printArr();
-            currRow = currRow.next;
+        SparseArray emptyRow = new SparseArray(cols);
+        for(int row = 0; row < rows; row++) {
+            if (currRow != null && currRow.rowIndex == row) {
+                currRow.arrayList.printArr();
+                currRow = currRow.next;
+            } else {
+                emptyRow.printArr();
+            }
         }
     }
 
@@ -106,23 +119,254 @@ public class SparseMatrix {
      */
     public void printMatrixNonZero() {
         RowNode currRow = first.next;
-        for(int row = rows; row > 0; row--) {
-            currRow.arrayList.printArrNonZero();
-            currRow = currRow.next;
+        for(int row = 0; row < rows; row++) {
+            if (currRow != null && currRow.rowIndex == row) {
+                currRow.arrayList.printArrNonZero();
+                currRow = currRow.next;
+            } else {
+                System.out.println();
+            }
         }
     }
 
     /**
      * Adds the elements of another sparse matrix to this matrix.
-     * Both Matrices must have the same size, rows and columns.
+     * Both Matrices must have the same rows and columns; the rows they store may differ.
+     * The two row lists are sorted, so they are merged in one pass, and each pair of rows is merged by
+     * {@link SparseArray#addTwoLists}. Rows only the second matrix has are linked in where the walk stands.
+     * Time complexity: O(r1 + r2 + nnz1 + nnz2)
      *
      * @param secMatrix The second sparse matrix to add
-     * @throws IllegalArgumentException If the array sizes don't match
+     * @throws IllegalArgumentException If the matrix dimensions don't match
      */
     public void addTwoMatrices(SparseMatrix secMatrix) {
-        if (this.rows != secMatrix.rows || this.cols != secMatrix.cols || this.size != secMatrix.size)
+        if (this.rows != secMatrix.rows || this.cols != secMatrix.cols)
+            throw new IllegalArgumentException("Matrices must have the same size, rows and columns!");
+
+        RowNode prevRow = first;
+        for (RowNode secRow = secMatrix.first.next; secRow != null; secRow = secRow.next) {
+            while (prevRow.next != null && prevRow.next.rowIndex < secRow.rowIndex)
+                prevRow = prevRow.next;
+
+            if (prevRow.next == null || prevRow.next.rowIndex != secRow.rowIndex)
+                insertAfter(prevRow, secRow.rowIndex);
+
+            prevRow = prevRow.next;
+            prevRow.arrayList.addTwoLists(secRow.arrayList);
+        }
+    }
+
+    /**
+     * Multiplies this matrix element by element with another one (Hadamard product).
+     * Only rows stored by both can hold non-zeros, so the row lists are merged and each shared pair of rows is
+     * merged by {@link SparseArray#multiplyElementWise}.
+     * Time complexity: O(r1 + r2 + nnz1 + nnz2)
+     *
+     * @param secMatrix The second sparse matrix
+     * @return A new matrix holding the products
+     * @throws IllegalArgumentException If the matrix dimensions don't match
+     */
+    public SparseMatrix multiplyElementWise(SparseMatrix secMatrix) {
+        if (this.rows != secMatrix.rows || this.cols != secMatrix.cols)
             throw new IllegalArgumentException("Matrices must have the same size, rows and columns!");
 
+        SparseMatrix result = new SparseMatrix(rows, cols);
+        RowNode currRow = first.next, secRow = secMatrix.first.next;
+
+        while (currRow != null && secRow != null) {
+            if (currRow.rowIndex < secRow.rowIndex) {
+                currRow = currRow.next;
+            } else if (currRow.rowIndex > secRow.rowIndex) {
+                secRow = secRow.next;
+            } else {
+                result.appendRow(currRow.rowIndex, currRow.arrayList.multiplyElementWise(secRow.arrayList));
+                currRow = currRow.next;
+                secRow = secRow.next;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Multiplies every element by a scalar.
+     * Time complexity: O(r + nnz)
+     *
+     * @param factor The scalar
+     */
+    public void scale(int factor) {
+        for (RowNode currRow = first.next; currRow != null; currRow = currRow.next)
+            currRow.arrayList.scale(factor);
+    }
+
+    /**
+     * Multiplies this matrix by a dense vector, one dot product per stored row.
+     * Time complexity: O(r + nnz)
+     *
+     * @param vector The vector, of length cols
+     * @return The product, of length rows
+     * @throws IllegalArgumentException If the vector length doesn't match the columns
+     */
+    public int[] multiply(int[] vector) {
+        if (vector.length != cols)
+            throw new IllegalArgumentException("Vector length must match the number of columns!");
+
+        int[] result = new int[rows];
+        for (RowNode currRow = first.next; currRow != null; currRow = currRow.next)
+            result[currRow.rowIndex] = currRow.arrayList.dot(vector);
+
+        return result;
+    }
+
+    /**
+     * Same as {@link #multiply(int[])}, with the rows split into ranges computed on the common fork-join pool.
+     * Each row writes its own slot of the result, so the tasks share nothing.
+     * Time complexity: O((r + nnz) / p) where p is the parallelism, plus O(r) to index the rows
+     *
+     * @param vector The vector, of length cols
+     * @return The product, of length rows
+     * @throws IllegalArgumentException If the vector length doesn't match the columns
+     */
+    public int[] parallelMultiply(int[] vector) {
+        if (vector.length != cols)
+            throw new IllegalArgumentException("Vector length must match the number of columns!");
+
+        RowNode[] rowNodes = rowNodes();
+        int[] result = new int[rows];
+
+        ForkJoinPool.commonPool().invoke(new RowTask(0, rowNodes.length, threshold(rowNodes.length), (from, to) -> {
+            for (int i = from; i < to; i++)
+                result[rowNodes[i].rowIndex] = rowNodes[i].arrayList.dot(vector);
+        }));
+
+        return result;
+    }
+
+    /**
+     * Multiplies this matrix by another one with Gustavson's row-by-row algorithm: row i of the result is the sum
+     * of the rows k of the second matrix scaled by A[i][k]. The sums are gathered in a dense accumulator that
+     * remembers which columns it touched, so each row costs only the products it really does, and the row is
+     * then appended in column order.
+     * Time complexity: O(r + flops + nnz(C) log(nnz row)) where flops is the number of scalar products
+     * Space complexity: O(cols of the second matrix) for the accumulator, plus the result
+     *
+     * @param secMatrix The right-hand matrix
+     * @return A new matrix holding the product
+     * @throws IllegalArgumentException If the columns of this matrix don't match the rows of the second one
+     */
+    public SparseMatrix multiply(SparseMatrix secMatrix) {
+        if (this.cols != secMatrix.rows)
+            throw new IllegalArgumentException("Columns of the first matrix must match rows of the second!");
+
+        RowNode[] secRows = secMatrix.rowsByIndex();
+        SparseMatrix result = new SparseMatrix(rows, secMatrix.cols);
+        Accumulator accumulator = new Accumulator(secMatrix.cols);
+
+        for (RowNode currRow = first.next; currRow != null; currRow = currRow.next)
+            result.appendRow(currRow.rowIndex, accumulator.multiplyRow(currRow.arrayList, secRows));
+
+        return result;
+    }
+
+    /**
+     * Same as {@link #multiply(SparseMatrix)}, with the rows split into ranges computed on the common fork-join
+     * pool. Every leaf task owns an accumulator, the result rows are linked in order once all tasks are done.
+     * Time complexity: O((r + flops) / p) for the products, plus O(r) to index and link the rows
+     *
+     * @param secMatrix The right-hand matrix
+     * @return A new matrix holding the product
+     * @throws IllegalArgumentException If the columns of this matrix don't match the rows of the second one
+     */
+    public SparseMatrix parallelMultiply(SparseMatrix secMatrix) {
+        if (this.cols != secMatrix.rows)
+            throw new IllegalArgumentException("Columns of the first matrix must match rows of the second!");
+
+        RowNode[] secRows = secMatrix.rowsByIndex();
+        RowNode[] rowNodes = rowNodes();
+        SparseArray[] products = new SparseArray[rowNodes.length];
+
+        ForkJoinPool.commonPool().invoke(new RowTask(0, rowNodes.length, threshold(rowNodes.length), (from, to) -> {
+            Accumulator accumulator = new Accumulator(secMatrix.cols);
+            for (int i = from; i < to; i++)
+                products[i] = accumulator.multiplyRow(rowNodes[i].arrayList, secRows);
+        }));
+
+        SparseMatrix result = new SparseMatrix(rows, secMatrix.cols);
+        for (int i = 0; i < rowNodes.length; i++)
+            result.appendRow(rowNodes[i].rowIndex, products[i]);
+
+        return result;
+    }
+
+    /**
+     * Calls the action with the row, column and value of every stored non-zero element, in row-major order.
+     *
+     * @param action The callback receiving each row, column and value
+     */
+    public void forEachNonZero(EntryConsumer action) {
+        for (RowNode currRow = first.next; currRow != null; currRow = currRow.next) {
+            int row = currRow.rowIndex;
+            currRow.arrayList.forEachNonZero((col, value) -> action.accept(row, col, value));
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Receives the elements of a sparse matrix without boxing them.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int row, int col, int value);
+    }
+
+    /**
+     * Appends a row after the last one; rows must come in increasing order. Empty rows are not stored.
+     *
+     * @param row The row index, greater than every stored one
+     * @param arrayList The elements of the row
+     */
+    private void appendRow(int row, SparseArray arrayList) {
+        if (!arrayList.isEmpty())
+            insertAfter(last, new RowNode(row, arrayList));
+    }
+
+    /**
+     * Collects the stored rows into an array, in row order, so they can be split into ranges.
+     *
+     * @return The row nodes
+     */
+    private RowNode[] rowNodes() {
+        RowNode[] nodes = new RowNode[size];
+        int i = 0;
+        for (RowNode currRow = first.next; currRow != null; currRow = currRow.next)
+            nodes[i++] = currRow;
+
+        return nodes;
+    }
+
+    /**
+     * Indexes the stored rows by their row number, so the Gustavson loop reaches row k in O(1).
+     *
+     * @return The row nodes by row number, null where the row is empty
+     */
+    private RowNode[] rowsByIndex() {
+        RowNode[] nodes = new RowNode[rows];
+        for (RowNode currRow = first.next; currRow != null; currRow = currRow.next)
+            nodes[currRow.rowIndex] = currRow;
+
+        return nodes;
+    }
+
+    // About four ranges per worker, so uneven rows still balance, and never fewer than MIN_ROWS rows per task.
+    private static int threshold(int rowCount) {
+        return Math.max(MIN_ROWS, rowCount / (ForkJoinPool.getCommonPoolParallelism() * 4));
     }
 
     /**
@@ -155,8 +399,17 @@ public class SparseMatrix {
      * @return The newly created node
      */
     private RowNode insertAfter(RowNode nodeBefore, int row) {
-        RowNode newNode = new RowNode(row, cols);
+        return insertAfter(nodeBefore, new RowNode(row, cols));
+    }
 
+    /**
+     * Links a node after the specified node.
+     *
+     * @param nodeBefore The node after which to insert
+     * @param newNode The node to link
+     * @return The linked node
+     */
+    private RowNode insertAfter(RowNode nodeBefore, RowNode newNode) {
         newNode.next = nodeBefore.next;
         linkNodes(nodeBefore,newNode);
         if(newNode.next == null)
@@ -209,8 +462,111 @@ public class SparseMatrix {
          * @param colSize  The number of columns in the matrix (used to initialize the {@link SparseArray}).
          */
         public RowNode(int rowIndex, int colSize) {
+            this(rowIndex, new SparseArray(colSize));
+        }
+
+        /**
+         * Constructs a new {@link RowNode} holding an already built row.
+         *
+         * @param rowIndex  The row index in the matrix.
+         * @param arrayList The elements of the row.
+         */
+        public RowNode(int rowIndex, SparseArray arrayList) {
             this.rowIndex = rowIndex;
-            this.arrayList = new SparseArray(colSize);
+            this.arrayList = arrayList;
+        }
+    }
+
+    /**
+     * The work done on a range [from, to) of the row nodes.
+     */
+    @FunctionalInterface
+    private interface RangeBody {
+        void run(int from, int to);
+    }
+
+    /**
+     * Splits a range of row nodes in halves until it is below the threshold, then runs the body on it.
+     */
+    @SuppressWarnings("serial") // fork/join tasks are never serialized
+    private static class RowTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final RangeBody body;
+
+        RowTask(int from, int to, int threshold, RangeBody body) {
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                body.run(from, to);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new RowTask(from, mid, threshold, body), new RowTask(mid, to, threshold, body));
+        }
+    }
+
+    /**
+     * Dense accumulator of one result row for Gustavson's algorithm.
+     * marker[col] holds the number of the row that last touched col, so nothing has to be cleared between rows,
+     * and touched lists those columns to be sorted and emitted.
+     */
+    private static class Accumulator {
+        private final int[] sums;
+        private final int[] marker;
+        private final int[] touched;
+        private int count;
+        private int stamp;
+
+        Accumulator(int width) {
+            sums = new int[width];
+            marker = new int[width];
+            touched = new int[width];
+        }
+
+        /**
+         * Computes one row of the product: the rows of the second matrix picked by the non-zeros of aRow,
+         * scaled and summed.
+         *
+         * @param aRow The row of the left-hand matrix
+         * @param secRows The rows of the right-hand matrix by row number
+         * @return The product row, without zeros
+         */
+        SparseArray multiplyRow(SparseArray aRow, RowNode[] secRows) {
+            ++stamp;
+            count = 0;
+
+            aRow.forEachNonZero((k, a) -> {
+                RowNode secRow = secRows[k];
+                if (secRow != null)
+                    secRow.arrayList.forEachNonZero((col, b) -> add(col, a * b));
+            });
+
+            Arrays.sort(touched, 0, count);
+
+            SparseArray result = new SparseArray(sums.length);
+            for (int i = 0; i < count; i++)
+                if (sums[touched[i]] != 0)
+                    result.append(touched[i], sums[touched[i]]);
+
+            return result;
+        }
+
+        private void add(int col, int value) {
+            if (marker[col] != stamp) {
+                marker[col] = stamp;
+                sums[col] = 0;
+                touched[count++] = col;
+            }
+            sums[col] += value;
         }
     }
 }
@@ -0,0 +1,696 @@
+package map;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Shared {@link NavigableMap} plumbing for the ordered maps of this package.
+ * A concrete map only supplies the point operations, six navigation primitives and a bounded entry iterator;
+ * navigation methods, sub/head/tail views, descending views and key sets are all built on top of those,
+ * so every view runs directly against the backing structure and nothing is copied.
+ *
+ * @param <K> the type of keys, ordered by their natural ordering
+ * @param <V> the type of mapped values
+ */
+abstract class AbstractNavigableMap<K extends Comparable<K>, V> extends AbstractMap<K, V> implements NavigableMap<K, V> {
+
+    /*
+     * Navigation primitives over the whole map. Each returns an entry that stays valid
+     * after later modifications of the map, or null if there is no such key.
+     */
+    abstract Map.Entry<K, V> getFirstEntry();
+
+    abstract Map.Entry<K, V> getLastEntry();
+
+    abstract Map.Entry<K, V> getCeilingEntry(K key);
+
+    abstract Map.Entry<K, V> getHigherEntry(K key);
+
+    abstract Map.Entry<K, V> getFloorEntry(K key);
+
+    abstract Map.Entry<K, V> getLowerEntry(K key);
+
+    /**
+     * Returns an iterator over the entries between two bounds, in ascending or descending order.
+     * The start bound is where iteration begins and the fence bound is where it stops, both expressed in iteration order.
+     * The iterator must support remove().
+     *
+     * @param descending true to iterate from the highest key to the lowest
+     * @param fromStart true if iteration begins at the first (or last, when descending) key of the map
+     * @param start the key iteration begins at, ignored when fromStart
+     * @param startInclusive true if start itself is to be returned
+     * @param toEnd true if iteration runs to the end of the map
+     * @param fence the key iteration stops at, ignored when toEnd
+     * @param fenceInclusive true if fence itself is to be returned
+     * @return an iterator over the entries in range
+     */
+    abstract Iterator<Map.Entry<K, V>> entryIterator(boolean descending, boolean fromStart, K start, boolean startInclusive,
+                                                     boolean toEnd, K fence, boolean fenceInclusive);
+
+    @Override
+    public Map.Entry<K, V> lowerEntry(K key) {
+        return getLowerEntry(key);
+    }
+
+    @Override
+    public K lowerKey(K key) {
+        return keyOrNull(getLowerEntry(key));
+    }
+
+    @Override
+    public Map.Entry<K, V> floorEntry(K key) {
+        return getFloorEntry(key);
+    }
+
+    @Override
+    public K floorKey(K key) {
+        return keyOrNull(getFloorEntry(key));
+    }
+
+    @Override
+    public Map.Entry<K, V> ceilingEntry(K key) {
+        return getCeilingEntry(key);
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+        return keyOrNull(getCeilingEntry(key));
+    }
+
+    @Override
+    public Map.Entry<K, V> higherEntry(K key) {
+        return getHigherEntry(key);
+    }
+
+    @Override
+    public K higherKey(K key) {
+        return keyOrNull(getHigherEntry(key));
+    }
+
+    @Override
+    public Map.Entry<K, V> firstEntry() {
+        return getFirstEntry();
+    }
+
+    @Override
+    public Map.Entry<K, V> lastEntry() {
+        return getLastEntry();
+    }
+
+    @Override
+    public Map.Entry<K, V> pollFirstEntry() {
+        return pollEntry(getFirstEntry());
+    }
+
+    @Override
+    public Map.Entry<K, V> pollLastEntry() {
+        return pollEntry(getLastEntry());
+    }
+
+    @Override
+    public K firstKey() {
+        return key(getFirstEntry());
+    }
+
+    @Override
+    public K lastKey() {
+        return key(getLastEntry());
+    }
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return null; // natural ordering
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet<>(this) {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return entryIterator(false, true, null, true, true, null, true);
+            }
+
+            @Override
+            public int size() {
+                return AbstractNavigableMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public NavigableSet<K> keySet() {
+        return navigableKeySet();
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+        return new KeySet<>(this);
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+        return descendingMap().navigableKeySet();
+    }
+
+    /**
+     * Returns a reverse-ordered view of this map. Changes to either map are visible in the other.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @return a descending view of the whole map
+     */
+    @Override
+    public NavigableMap<K, V> descendingMap() {
+        return new SubMap(true, null, true, true, null, true, true);
+    }
+
+    /**
+     * Returns a view of the keys ranging from fromKey to toKey. The view is backed by this map,
+     * so looking up or iterating k of its entries costs O(log n + k) and nothing is copied.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @param fromKey low endpoint of the keys in the returned map
+     * @param fromInclusive true if the low endpoint is to be included in the view
+     * @param toKey high endpoint of the keys in the returned map
+     * @param toInclusive true if the high endpoint is to be included in the view
+     * @return a view of the portion of this map whose keys range from fromKey to toKey
+     * @throws IllegalArgumentException if fromKey is greater than toKey
+     */
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        if (fromKey.compareTo(toKey) > 0)
+            throw new IllegalArgumentException("fromKey > toKey");
+
+        return new SubMap(false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+        Objects.requireNonNull(toKey);
+        return new SubMap(true, null, true, false, toKey, inclusive, false);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+        Objects.requireNonNull(fromKey);
+        return new SubMap(false, fromKey, inclusive, true, null, true, false);
+    }
+
+    @Override
+    public NavigableMap<K, V> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public NavigableMap<K, V> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public NavigableMap<K, V> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    private Map.Entry<K, V> pollEntry(Map.Entry<K, V> entry) {
+        if (entry != null)
+            remove(entry.getKey());
+
+        return entry;
+    }
+
+    static <K> K keyOrNull(Map.Entry<K, ?> entry) {
+        return (entry == null) ? null : entry.getKey();
+    }
+
+    static <K> K key(Map.Entry<K, ?> entry) {
+        if (entry == null)
+            throw new NoSuchElementException();
+
+        return entry.getKey();
+    }
+
+    /**
+     * Entry set of a map or view; membership is answered through the map itself instead of a linear scan.
+     */
+    private abstract static class EntrySet<K, V> extends AbstractSet<Map.Entry<K, V>> {
+        private final Map<K, V> map;
+
+        EntrySet(Map<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry<?, ?> entry) || !map.containsKey(entry.getKey()))
+                return false;
+
+            return Objects.equals(map.get(entry.getKey()), entry.getValue());
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+    }
+
+    /**
+     * A bounded and/or reversed view of the map. Bounds are kept in absolute (ascending) terms,
+     * every query first runs against the whole map and is then clipped to the bounds.
+     */
+    private class SubMap extends AbstractMap<K, V> implements NavigableMap<K, V> {
+        private final boolean fromStart, toEnd;
+        private final K lo, hi;
+        private final boolean loInclusive, hiInclusive;
+        private final boolean descending;
+
+        SubMap(boolean fromStart, K lo, boolean loInclusive,
+               boolean toEnd, K hi, boolean hiInclusive, boolean descending) {
+            this.fromStart = fromStart;
+            this.lo = lo;
+            this.loInclusive = loInclusive;
+            this.toEnd = toEnd;
+            this.hi = hi;
+            this.hiInclusive = hiInclusive;
+            this.descending = descending;
+        }
+
+        private boolean tooLow(K key) {
+            if (fromStart) return false;
+            int cmp = key.compareTo(lo);
+            return cmp < 0 || (cmp == 0 && !loInclusive);
+        }
+
+        private boolean tooHigh(K key) {
+            if (toEnd) return false;
+            int cmp = key.compareTo(hi);
+            return cmp > 0 || (cmp == 0 && !hiInclusive);
+        }
+
+        private boolean inRange(K key) {
+            return !tooLow(key) && !tooHigh(key);
+        }
+
+        // An exclusive endpoint of a nested view may sit on an exclusive endpoint of this view.
+        private boolean inRange(K key, boolean inclusive) {
+            if (inclusive)
+                return inRange(key);
+
+            return (fromStart || key.compareTo(lo) >= 0) && (toEnd || key.compareTo(hi) <= 0);
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean inRangeObject(Object key) {
+            return inRange((K) key);
+        }
+
+        private Map.Entry<K, V> absLowest() {
+            Map.Entry<K, V> entry = fromStart ? getFirstEntry() : (loInclusive ? getCeilingEntry(lo) : getHigherEntry(lo));
+            return (entry == null || tooHigh(entry.getKey())) ? null : entry;
+        }
+
+        private Map.Entry<K, V> absHighest() {
+            Map.Entry<K, V> entry = toEnd ? getLastEntry() : (hiInclusive ? getFloorEntry(hi) : getLowerEntry(hi));
+            return (entry == null || tooLow(entry.getKey())) ? null : entry;
+        }
+
+        private Map.Entry<K, V> absCeiling(K key) {
+            if (tooLow(key)) return absLowest();
+            Map.Entry<K, V> entry = getCeilingEntry(key);
+            return (entry == null || tooHigh(entry.getKey())) ? null : entry;
+        }
+
+        private Map.Entry<K, V> absHigher(K key) {
+            if (tooLow(key)) return absLowest();
+            Map.Entry<K, V> entry = getHigherEntry(key);
+            return (entry == null || tooHigh(entry.getKey())) ? null : entry;
+        }
+
+        private Map.Entry<K, V> absFloor(K key) {
+            if (tooHigh(key)) return absHighest();
+            Map.Entry<K, V> entry = getFloorEntry(key);
+            return (entry == null || tooLow(entry.getKey())) ? null : entry;
+        }
+
+        private Map.Entry<K, V> absLower(K key) {
+            if (tooHigh(key)) return absHighest();
+            Map.Entry<K, V> entry = getLowerEntry(key);
+            return (entry == null || tooLow(entry.getKey())) ? null : entry;
+        }
+
+        @Override
+        public V get(Object key) {
+            return inRangeObject(key) ? AbstractNavigableMap.this.get(key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return inRangeObject(key) && AbstractNavigableMap.this.containsKey(key);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            if (!inRange(key))
+                throw new IllegalArgumentException("key out of range");
+
+            return AbstractNavigableMap.this.put(key, value);
+        }
+
+        @Override
+        public V remove(Object key) {
+            return inRangeObject(key) ? AbstractNavigableMap.this.remove(key) : null;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return absLowest() == null;
+        }
+
+        @Override
+        public Map.Entry<K, V> lowerEntry(K key) {
+            return descending ? absHigher(key) : absLower(key);
+        }
+
+        @Override
+        public K lowerKey(K key) {
+            return keyOrNull(lowerEntry(key));
+        }
+
+        @Override
+        public Map.Entry<K, V> floorEntry(K key) {
+            return descending ? absCeiling(key) : absFloor(key);
+        }
+
+        @Override
+        public K floorKey(K key) {
+            return keyOrNull(floorEntry(key));
+        }
+
+        @Override
+        public Map.Entry<K, V> ceilingEntry(K key) {
+            return descending ? absFloor(key) : absCeiling(key);
+        }
+
+        @Override
+        public K ceilingKey(K key) {
+            return keyOrNull(ceilingEntry(key));
+        }
+
+        @Override
+        public Map.Entry<K, V> higherEntry(K key) {
+            return descending ? absLower(key) : absHigher(key);
+        }
+
+        @Override
+        public K higherKey(K key) {
+            return keyOrNull(higherEntry(key));
+        }
+
+        @Override
+        public Map.Entry<K, V> firstEntry() {
+            return descending ? absHighest() : absLowest();
+        }
+
+        @Override
+        public Map.Entry<K, V> lastEntry() {
+            return descending ? absLowest() : absHighest();
+        }
+
+        @Override
+        public Map.Entry<K, V> pollFirstEntry() {
+            return pollEntry(firstEntry());
+        }
+
+        @Override
+        public Map.Entry<K, V> pollLastEntry() {
+            return pollEntry(lastEntry());
+        }
+
+        @Override
+        public K firstKey() {
+            return key(firstEntry());
+        }
+
+        @Override
+        public K lastKey() {
+            return key(lastEntry());
+        }
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return descending ? Collections.reverseOrder() : null;
+        }
+
+        @Override
+        public Set<Map.Entry<K, V>> entrySet() {
+            return new EntrySet<>(this) {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return descending
+                            ? entryIterator(true, toEnd, hi, hiInclusive, fromStart, lo, loInclusive)
+                            : entryIterator(false, fromStart, lo, loInclusive, toEnd, hi, hiInclusive);
+                }
+
+                @Override
+                public int size() { // O(log n + k), the view does not track its own size
+                    int count = 0;
+                    for (Iterator<Map.Entry<K, V>> it = iterator(); it.hasNext(); it.next())
+                        count++;
+                    return count;
+                }
+            };
+        }
+
+        @Override
+        public NavigableSet<K> keySet() {
+            return navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> navigableKeySet() {
+            return new KeySet<>(this);
+        }
+
+        @Override
+        public NavigableSet<K> descendingKeySet() {
+            return descendingMap().navigableKeySet();
+        }
+
+        @Override
+        public NavigableMap<K, V> descendingMap() {
+            return new SubMap(fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+        }
+
+        @Override
+        public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+            if (!inRange(fromKey, fromInclusive))
+                throw new IllegalArgumentException("fromKey out of range");
+            if (!inRange(toKey, toInclusive))
+                throw new IllegalArgumentException("toKey out of range");
+
+            int cmp = fromKey.compareTo(toKey);
+            if (descending ? cmp < 0 : cmp > 0)
+                throw new IllegalArgumentException("fromKey > toKey");
+
+            return descending
+                    ? new SubMap(false, toKey, toInclusive, false, fromKey, fromInclusive, true)
+                    : new SubMap(false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+        }
+
+        @Override
+        public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+            if (!inRange(toKey, inclusive))
+                throw new IllegalArgumentException("toKey out of range");
+
+            return descending
+                    ? new SubMap(false, toKey, inclusive, toEnd, hi, hiInclusive, true)
+                    : new SubMap(fromStart, lo, loInclusive, false, toKey, inclusive, false);
+        }
+
+        @Override
+        public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+            if (!inRange(fromKey, inclusive))
+                throw new IllegalArgumentException("fromKey out of range");
+
+            return descending
+                    ? new SubMap(fromStart, lo, loInclusive, false, fromKey, inclusive, true)
+                    : new SubMap(false, fromKey, inclusive, toEnd, hi, hiInclusive, false);
+        }
+
+        @Override
+        public NavigableMap<K, V> subMap(K fromKey, K toKey) {
+            return subMap(fromKey, true, toKey, false);
+        }
+
+        @Override
+        public NavigableMap<K, V> headMap(K toKey) {
+            return headMap(toKey, false);
+        }
+
+        @Override
+        public NavigableMap<K, V> tailMap(K fromKey) {
+            return tailMap(fromKey, true);
+        }
+    }
+
+    /**
+     * Key view shared by the map and all of its sub views; every call is forwarded to the backing map.
+     */
+    private static final class KeySet<E> extends AbstractSet<E> implements NavigableSet<E> {
+        private final NavigableMap<E, ?> map;
+
+        KeySet(NavigableMap<E, ?> map) {
+            this.map = map;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            Iterator<? extends Map.Entry<E, ?>> it = map.entrySet().iterator();
+
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    return it.next().getKey();
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                }
+            };
+        }
+
+        @Override
+        public Iterator<E> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return map.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!map.containsKey(o))
+                return false;
+
+            map.remove(o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public E lower(E e) {
+            return map.lowerKey(e);
+        }
+
+        @Override
+        public E floor(E e) {
+            return map.floorKey(e);
+        }
+
+        @Override
+        public E ceiling(E e) {
+            return map.ceilingKey(e);
+        }
+
+        @Override
+        public E higher(E e) {
+            return map.higherKey(e);
+        }
+
+        @Override
+        public E first() {
+            return map.firstKey();
+        }
+
+        @Override
+        public E last() {
+            return map.lastKey();
+        }
+
+        @Override
+        public E pollFirst() {
+            return keyOrNull(map.pollFirstEntry());
+        }
+
+        @Override
+        public E pollLast() {
+            return keyOrNull(map.pollLastEntry());
+        }
+
+        @Override
+        public Comparator<? super E> comparator() {
+            return map.comparator();
+        }
+
+        @Override
+        public NavigableSet<E> descendingSet() {
+            return new KeySet<>(map.descendingMap());
+        }
+
+        @Override
+        public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+            return new KeySet<>(map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+        }
+
+        @Override
+        public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+            return new KeySet<>(map.headMap(toElement, inclusive));
+        }
+
+        @Override
+        public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+            return new KeySet<>(map.tailMap(fromElement, inclusive));
+        }
+
+        @Override
+        public NavigableSet<E> subSet(E fromElement, E toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public NavigableSet<E> headSet(E toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public NavigableSet<E> tailSet(E fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+}
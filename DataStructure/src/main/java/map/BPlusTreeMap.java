@@ -0,0 +1,646 @@
+package map;
+
+import java.util.AbstractMap;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An ordered map backed by a B+Tree, exposing the same API as {@link TreeMap}.
+ * Keys live in wide array nodes instead of one object per key, so a lookup touches O(log_b n) nodes
+ * and scans keys packed next to each other. All entries sit in the leaves, which are linked in both
+ * directions, so range scans and descending iteration just walk the leaf chain.
+ * Time Complexity for main operations:
+ * - put / get / remove / navigation: O(log n) comparisons over O(log_b n) nodes, b being the order
+ * - iterating k entries of any view: O(log_b n + k)
+ * Space Complexity: O(n) where n is the number of keys in the map
+ */
+public class BPlusTreeMap<K extends Comparable<K>, V> extends AbstractNavigableMap<K, V> {
+    private static final int DEFAULT_ORDER = 64;
+
+    private final int maxKeys; // a node splits once it holds more keys than this
+    private final int minKeys; // a non-root node borrows or merges once it holds fewer keys than this
+    private Node root;
+    private Leaf firstLeaf, lastLeaf;
+    private int size;
+    private int modCount; // structural modifications, used by iterators to fail fast
+
+    public BPlusTreeMap(){
+        this(DEFAULT_ORDER);
+    }
+
+    /**
+     * Constructs an empty map whose nodes hold up to order - 1 keys (internal nodes have up to order children).
+     * Time Complexity: O(order)
+     * Space Complexity: O(order)
+     *
+     * @param order the branching factor of the tree, at least 4
+     */
+    public BPlusTreeMap(int order){
+        if (order < 4)
+            throw new IllegalArgumentException("Order must be at least 4");
+
+        this.maxKeys = order - 1;
+        this.minKeys = maxKeys / 2;
+        this.root = firstLeaf = lastLeaf = new Leaf();
+    }
+
+    /**
+     * Associates the value with the key, replacing any previous value.
+     * Time Complexity: O(log n), plus O(order) to shift keys inside a node
+     * Space Complexity: O(log_b n) - Due to recursion stack
+     *
+     * @param key the key, must not be null
+     * @param value the value to be stored
+     * @return the previous value of the key, or null if it was absent
+     */
+    @Override
+    public V put(K key, V value){
+        Leaf leaf = findLeaf(key);
+        int idx = leaf.search(key);
+        if (idx >= 0) { // update value if key exists, no structural change needed
+            V oldValue = leaf.val(idx);
+            leaf.vals[idx] = value;
+            return oldValue;
+        }
+
+        Split split = insert(root, key, value);
+        if (split != null) { // root overflowed, the tree grows by one level
+            Internal newRoot = new Internal();
+            newRoot.keys[0] = split.key;
+            newRoot.children[0] = root;
+            newRoot.children[1] = split.right;
+            newRoot.count = 1;
+            root = newRoot;
+        }
+
+        size++;
+        modCount++;
+        return null;
+    }
+
+    /**
+     * Removes the key, borrowing from or merging with a sibling whenever a node underflows.
+     * Time Complexity: O(log n), plus O(order) to shift keys inside a node
+     * Space Complexity: O(log_b n) - Due to recursion stack
+     *
+     * @param key the key to be removed
+     * @return the removed value, or null if the key was absent
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key){
+        K k = (K) key;
+        Leaf leaf = findLeaf(k);
+        int idx = leaf.search(k);
+        if (idx < 0)
+            return null;
+
+        V oldValue = leaf.val(idx);
+        delete(root, k);
+
+        if (root instanceof Internal internal && internal.count == 0) // root lost its last separator, shrink by one level
+            root = internal.children[0];
+
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key){
+        Leaf leaf = findLeaf((K) key);
+        int idx = leaf.search((K) key);
+        return (idx < 0) ? null : leaf.val(idx);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean containsKey(Object key){
+        return findLeaf((K) key).search((K) key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        root = firstLeaf = lastLeaf = new Leaf();
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    Map.Entry<K, V> getFirstEntry() {
+        return (size == 0) ? null : firstLeaf.entry(0);
+    }
+
+    @Override
+    Map.Entry<K, V> getLastEntry() {
+        return (size == 0) ? null : lastLeaf.entry(lastLeaf.count - 1);
+    }
+
+    @Override
+    Map.Entry<K, V> getCeilingEntry(K key) {
+        Leaf leaf = findLeaf(key);
+        return entryAtOrAfter(leaf, leaf.lowerBound(key));
+    }
+
+    @Override
+    Map.Entry<K, V> getHigherEntry(K key) {
+        Leaf leaf = findLeaf(key);
+        return entryAtOrAfter(leaf, leaf.upperBound(key));
+    }
+
+    @Override
+    Map.Entry<K, V> getFloorEntry(K key) {
+        Leaf leaf = findLeaf(key);
+        return entryAtOrBefore(leaf, leaf.upperBound(key) - 1);
+    }
+
+    @Override
+    Map.Entry<K, V> getLowerEntry(K key) {
+        Leaf leaf = findLeaf(key);
+        return entryAtOrBefore(leaf, leaf.lowerBound(key) - 1);
+    }
+
+    @Override
+    Iterator<Map.Entry<K, V>> entryIterator(boolean descending, boolean fromStart, K start, boolean startInclusive,
+                                            boolean toEnd, K fence, boolean fenceInclusive) {
+        return new EntryIterator(descending, fromStart, start, startInclusive, toEnd, fence, fenceInclusive);
+    }
+
+    // The answer is either in the leaf the key routes to, or the first key of the next leaf (non-root leaves are never empty).
+    private Map.Entry<K, V> entryAtOrAfter(Leaf leaf, int idx) {
+        if (idx == leaf.count) {
+            leaf = leaf.next;
+            idx = 0;
+        }
+
+        return (leaf == null || leaf.count == 0) ? null : leaf.entry(idx);
+    }
+
+    private Map.Entry<K, V> entryAtOrBefore(Leaf leaf, int idx) {
+        if (idx < 0) {
+            leaf = leaf.prev;
+            if (leaf == null)
+                return null;
+
+            idx = leaf.count - 1;
+        }
+
+        return (leaf.count == 0) ? null : leaf.entry(idx);
+    }
+
+    private Leaf findLeaf(K key) {
+        Node curNode = root;
+
+        while (curNode instanceof Internal internal)
+            curNode = internal.children[internal.childIndex(key)];
+
+        return (Leaf) curNode;
+    }
+
+    /**
+     * Inserts a key that is known to be absent into the subtree.
+     * @return the new right sibling and its separator if curNode had to split, otherwise null
+     */
+    private Split insert(Node curNode, K key, V value) {
+        if (curNode instanceof Leaf leaf) {
+            int idx = -(leaf.search(key) + 1);
+            leaf.insertAt(idx, key, value);
+            return (leaf.count > maxKeys) ? splitLeaf(leaf) : null;
+        }
+
+        Internal internal = (Internal) curNode;
+        int childIdx = internal.childIndex(key);
+        Split split = insert(internal.children[childIdx], key, value);
+        if (split == null)
+            return null;
+
+        internal.insertAt(childIdx, split.key, split.right);
+        return (internal.count > maxKeys) ? splitInternal(internal) : null;
+    }
+
+    private Split splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf();
+        int mid = leaf.count / 2;
+
+        right.count = leaf.count - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.count);
+        System.arraycopy(leaf.vals, mid, right.vals, 0, right.count);
+        clear(leaf.keys, mid, leaf.count);
+        clear(leaf.vals, mid, leaf.count);
+        leaf.count = mid;
+
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null)
+            leaf.next.prev = right;
+        else
+            lastLeaf = right;
+        leaf.next = right;
+
+        return new Split(right.key(0), right);
+    }
+
+    // The middle key moves up to the parent, it is not kept in either half.
+    private Split splitInternal(Internal internal) {
+        Internal right = new Internal();
+        int mid = internal.count / 2;
+        K promoted = internal.key(mid);
+
+        right.count = internal.count - mid - 1;
+        System.arraycopy(internal.keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(internal.children, mid + 1, right.children, 0, right.count + 1);
+        clear(internal.keys, mid, internal.count);
+        clear(internal.children, mid + 1, internal.count + 1);
+        internal.count = mid;
+
+        return new Split(promoted, right);
+    }
+
+    /**
+     * Deletes a key that is known to be present from the subtree, then fixes the child it came from if it underflowed.
+     * Separators equal to a deleted key are left in place, they still route lookups correctly.
+     */
+    private void delete(Node curNode, K key) {
+        if (curNode instanceof Leaf leaf) {
+            leaf.removeAt(leaf.search(key));
+            return;
+        }
+
+        Internal internal = (Internal) curNode;
+        int childIdx = internal.childIndex(key);
+        Node child = internal.children[childIdx];
+        delete(child, key);
+
+        if (child.count < minKeys)
+            rebalance(internal, childIdx);
+    }
+
+    private void rebalance(Internal parent, int childIdx) {
+        Node child = parent.children[childIdx];
+        Node left = (childIdx > 0) ? parent.children[childIdx - 1] : null;
+        Node right = (childIdx < parent.count) ? parent.children[childIdx + 1] : null;
+
+        if (left != null && left.count > minKeys)
+            borrowFromLeft(parent, childIdx, left, child);
+        else if (right != null && right.count > minKeys)
+            borrowFromRight(parent, childIdx, child, right);
+        else if (left != null)
+            merge(parent, childIdx - 1);
+        else
+            merge(parent, childIdx);
+    }
+
+    private void borrowFromLeft(Internal parent, int childIdx, Node left, Node child) {
+        if (child instanceof Leaf leaf) {
+            Leaf from = (Leaf) left;
+            leaf.insertAt(0, from.key(from.count - 1), from.val(from.count - 1));
+            from.removeAt(from.count - 1);
+            parent.keys[childIdx - 1] = leaf.keys[0];
+        } else {
+            Internal internal = (Internal) child, from = (Internal) left;
+            System.arraycopy(internal.keys, 0, internal.keys, 1, internal.count);
+            System.arraycopy(internal.children, 0, internal.children, 1, internal.count + 1);
+            internal.keys[0] = parent.keys[childIdx - 1]; // separator rotates down, sibling's last key rotates up
+            internal.children[0] = from.children[from.count];
+            internal.count++;
+
+            parent.keys[childIdx - 1] = from.keys[from.count - 1];
+            from.keys[from.count - 1] = null;
+            from.children[from.count] = null;
+            from.count--;
+        }
+    }
+
+    private void borrowFromRight(Internal parent, int childIdx, Node child, Node right) {
+        if (child instanceof Leaf leaf) {
+            Leaf from = (Leaf) right;
+            leaf.insertAt(leaf.count, from.key(0), from.val(0));
+            from.removeAt(0);
+            parent.keys[childIdx] = from.keys[0];
+        } else {
+            Internal internal = (Internal) child, from = (Internal) right;
+            internal.keys[internal.count] = parent.keys[childIdx]; // separator rotates down, sibling's first key rotates up
+            internal.children[internal.count + 1] = from.children[0];
+            internal.count++;
+
+            parent.keys[childIdx] = from.keys[0];
+            System.arraycopy(from.keys, 1, from.keys, 0, from.count - 1);
+            System.arraycopy(from.children, 1, from.children, 0, from.count);
+            from.keys[from.count - 1] = null;
+            from.children[from.count] = null;
+            from.count--;
+        }
+    }
+
+    // Folds children[idx + 1] into children[idx] and drops the separator between them from the parent.
+    private void merge(Internal parent, int idx) {
+        Node left = parent.children[idx], right = parent.children[idx + 1];
+
+        if (left instanceof Leaf leftLeaf) {
+            Leaf rightLeaf = (Leaf) right;
+            System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.count, rightLeaf.count);
+            System.arraycopy(rightLeaf.vals, 0, leftLeaf.vals, leftLeaf.count, rightLeaf.count);
+            leftLeaf.count += rightLeaf.count;
+
+            leftLeaf.next = rightLeaf.next;
+            if (rightLeaf.next != null)
+                rightLeaf.next.prev = leftLeaf;
+            else
+                lastLeaf = leftLeaf;
+        } else {
+            Internal leftInternal = (Internal) left, rightInternal = (Internal) right;
+            leftInternal.keys[leftInternal.count] = parent.keys[idx]; // separator comes down between the two halves
+            System.arraycopy(rightInternal.keys, 0, leftInternal.keys, leftInternal.count + 1, rightInternal.count);
+            System.arraycopy(rightInternal.children, 0, leftInternal.children, leftInternal.count + 1, rightInternal.count + 1);
+            leftInternal.count += rightInternal.count + 1;
+        }
+
+        parent.removeAt(idx);
+    }
+
+    private static void clear(Object[] arr, int from, int to) {
+        for (int i = from; i < to; ++i)
+            arr[i] = null;
+    }
+
+    // Result of splitting an overflowing node: the separator that moves up and the new right sibling.
+    private class Split {
+        final K key;
+        final Node right;
+
+        Split(K key, Node right) {
+            this.key = key;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Base of both node kinds: a sorted key array with room for one extra key, so a node may overflow
+     * by one before it is split. Keys are stored as Object because Java cannot allocate a generic array.
+     */
+    private abstract class Node {
+        final Object[] keys = new Object[maxKeys + 1];
+        int count;
+
+        @SuppressWarnings("unchecked")
+        K key(int idx) {
+            return (K) keys[idx];
+        }
+
+        // Index of the first key >= target.
+        int lowerBound(K target) {
+            int lo = 0, hi = count;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (key(mid).compareTo(target) < 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        // Index of the first key > target.
+        int upperBound(K target) {
+            int lo = 0, hi = count;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (key(mid).compareTo(target) <= 0) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    private class Leaf extends Node {
+        final Object[] vals = new Object[maxKeys + 1];
+        Leaf next, prev;
+
+        @SuppressWarnings("unchecked")
+        V val(int idx) {
+            return (V) vals[idx];
+        }
+
+        Map.Entry<K, V> entry(int idx) {
+            return new AbstractMap.SimpleImmutableEntry<>(key(idx), val(idx));
+        }
+
+        // Index of the key, or -(insertion point + 1) if absent.
+        int search(K target) {
+            int idx = lowerBound(target);
+            return (idx < count && key(idx).compareTo(target) == 0) ? idx : -(idx + 1);
+        }
+
+        void insertAt(int idx, K key, V value) {
+            System.arraycopy(keys, idx, keys, idx + 1, count - idx);
+            System.arraycopy(vals, idx, vals, idx + 1, count - idx);
+            keys[idx] = key;
+            vals[idx] = value;
+            count++;
+        }
+
+        void removeAt(int idx) {
+            System.arraycopy(keys, idx + 1, keys, idx, count - idx - 1);
+            System.arraycopy(vals, idx + 1, vals, idx, count - idx - 1);
+            count--;
+            keys[count] = null;
+            vals[count] = null;
+        }
+    }
+
+    /**
+     * Entry handed out by the iterators, so replaceAll and entry.setValue work as on java.util.TreeMap.
+     * setValue writes through to the leaf slot the entry was read from, or looks the key up again if a structural
+     * change since then may have moved it. Snapshots from firstEntry, floorEntry and the like stay immutable.
+     */
+    private class LeafEntry implements Map.Entry<K, V> {
+        private final Leaf leaf;
+        private final int idx;
+        private final int expectedModCount = modCount; // the slot is only trusted while the tree keeps its shape
+        private final K key;
+        private V val;
+
+        LeafEntry(Leaf leaf, int idx) {
+            this.leaf = leaf;
+            this.idx = idx;
+            this.key = leaf.key(idx);
+            this.val = leaf.val(idx);
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return val;
+        }
+
+        @Override
+        public V setValue(V value) {
+            Leaf target = leaf;
+            int slot = idx;
+            if (modCount != expectedModCount) {
+                target = findLeaf(key);
+                slot = target.search(key);
+                if (slot < 0)
+                    throw new IllegalStateException("Entry was removed from the map");
+            }
+
+            V oldValue = target.val(slot);
+            target.vals[slot] = value;
+            val = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && Objects.equals(key, e.getKey()) && Objects.equals(val, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(val);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + val;
+        }
+    }
+
+    /**
+     * Internal node with count keys and count + 1 children. Every key in children[i + 1] is >= keys[i],
+     * every key in children[i] is < keys[i].
+     */
+    private class Internal extends Node {
+        @SuppressWarnings("unchecked")
+        final Node[] children = (Node[]) new BPlusTreeMap<?, ?>.Node[maxKeys + 2];
+
+        int childIndex(K key) {
+            return upperBound(key);
+        }
+
+        // Inserts a separator at idx with its right-hand child.
+        void insertAt(int idx, K key, Node rightChild) {
+            System.arraycopy(keys, idx, keys, idx + 1, count - idx);
+            System.arraycopy(children, idx + 1, children, idx + 2, count - idx);
+            keys[idx] = key;
+            children[idx + 1] = rightChild;
+            count++;
+        }
+
+        // Removes the separator at idx with its right-hand child.
+        void removeAt(int idx) {
+            System.arraycopy(keys, idx + 1, keys, idx, count - idx - 1);
+            System.arraycopy(children, idx + 2, children, idx + 1, count - idx - 1);
+            keys[count - 1] = null;
+            children[count] = null;
+            count--;
+        }
+    }
+
+    /**
+     * Cursor over the leaf chain between two bounds. Positioning costs one descent, after that each step is
+     * an array index increment (or a hop to the neighbouring leaf). After remove() the cursor is re-positioned
+     * from the removed key, as borrowing and merging may have moved entries between leaves.
+     */
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private final boolean descending;
+        private final boolean toEnd;        // no fence at the far end of the iteration
+        private final K fence;
+        private final boolean fenceInclusive;
+        private Leaf leaf;
+        private int idx;
+        private K lastKey;
+        private boolean canRemove;
+        private int expectedModCount = modCount;
+
+        EntryIterator(boolean descending, boolean fromStart, K start, boolean startInclusive,
+                      boolean toEnd, K fence, boolean fenceInclusive) {
+            this.descending = descending;
+            this.toEnd = toEnd;
+            this.fence = fence;
+            this.fenceInclusive = fenceInclusive;
+            seek(fromStart, start, startInclusive);
+        }
+
+        private void seek(boolean fromStart, K start, boolean startInclusive) {
+            if (fromStart) {
+                leaf = descending ? lastLeaf : firstLeaf;
+                idx = descending ? leaf.count - 1 : 0;
+            } else {
+                leaf = findLeaf(start);
+                if (descending)
+                    idx = (startInclusive ? leaf.upperBound(start) : leaf.lowerBound(start)) - 1;
+                else
+                    idx = startInclusive ? leaf.lowerBound(start) : leaf.upperBound(start);
+            }
+            normalize();
+        }
+
+        // Moves the cursor onto the neighbouring leaf when it has run off either end of the current one.
+        private void normalize() {
+            if (descending) {
+                while (leaf != null && idx < 0) {
+                    leaf = leaf.prev;
+                    if (leaf != null) idx = leaf.count - 1;
+                }
+            } else {
+                while (leaf != null && idx >= leaf.count) {
+                    leaf = leaf.next;
+                    idx = 0;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (leaf == null)
+                return false;
+            if (toEnd)
+                return true;
+
+            int cmp = leaf.key(idx).compareTo(fence);
+            if (descending) cmp = -cmp;
+            return cmp < 0 || (cmp == 0 && fenceInclusive);
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Map.Entry<K, V> entry = new LeafEntry(leaf, idx);
+            idx += descending ? -1 : 1;
+            normalize();
+
+            lastKey = entry.getKey();
+            canRemove = true;
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            BPlusTreeMap.this.remove(lastKey);
+            expectedModCount = modCount;
+            canRemove = false;
+            seek(false, lastKey, false);
+        }
+    }
+}
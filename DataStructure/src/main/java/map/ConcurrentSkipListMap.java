@@ -0,0 +1,586 @@
+package map;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free ordered map backed by a skip list (Herlihy and Shavit's lock-free skip list), safe to share
+ * between any number of threads. It complements {@link TreeMap}: there are no rotations, so every update is a
+ * handful of local compare-and-set operations and readers never wait.
+ * - A key is logically removed when its value is CAS'ed to null; get and navigation treat such nodes as absent.
+ * - Its next pointers are then marked level by level, and any later traversal that meets a marked pointer snips the node out.
+ * Range views and iterators are weakly consistent: they never throw ConcurrentModificationException and
+ * reflect some of the updates made after they were created. size() is exact only when the map is quiescent.
+ * Null values are not permitted, as null marks a removed key.
+ * putIfAbsent, replace and remove(key, value) decide with a single CAS on the node's value, which makes the map a
+ * {@link ConcurrentMap} and gives the inherited compute/merge methods their atomic retry loops.
+ * Time Complexity for main operations (expected):
+ * - put / get / remove / navigation: O(log n)
+ * - iterating k entries of an ascending view: O(log n + k), descending: O(k log n)
+ * Space Complexity: O(n) where n is the number of keys in the map
+ */
+public class ConcurrentSkipListMap<K extends Comparable<K>, V> extends AbstractNavigableMap<K, V>
+        implements ConcurrentMap<K, V> {
+    private static final int MAX_LEVEL = 32;
+    private static final VarHandle VAL;
+
+    static {
+        try {
+            VAL = MethodHandles.lookup().findVarHandle(Node.class, "val", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Node<K, V> head = new Node<>(null, null, MAX_LEVEL); // sentinel before every key, null stands after every key
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentSkipListMap(){
+    }
+
+    /**
+     * Associates the value with the key, replacing any previous value.
+     * Time Complexity: O(log n) expected
+     * Space Complexity: O(1) expected, plus O(MAX_LEVEL) for the search path
+     *
+     * @param key the key, must not be null
+     * @param value the value to be stored, must not be null
+     * @return the previous value of the key, or null if it was absent
+     */
+    @Override
+    public V put(K key, V value){
+        return doPut(key, value, false);
+    }
+
+    /**
+     * Associates the value with the key only if the key is absent, atomically.
+     * Time Complexity: O(log n) expected
+     * Space Complexity: O(1) expected, plus O(MAX_LEVEL) for the search path
+     *
+     * @return the current value of the key, or null if the value was stored
+     */
+    @Override
+    public V putIfAbsent(K key, V value){
+        return doPut(key, value, true);
+    }
+
+    /**
+     * Removes the key. The node is logically removed first (value CAS'ed to null) and physically unlinked after.
+     * Time Complexity: O(log n) expected
+     * Space Complexity: O(MAX_LEVEL) for the search path
+     *
+     * @param key the key to be removed
+     * @return the removed value, or null if the key was absent
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key){
+        return doRemove((K) key, null);
+    }
+
+    /**
+     * Removes the key only if it is currently mapped to the value, atomically.
+     * Time Complexity: O(log n) expected
+     *
+     * @return true if the entry was removed
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object key, Object value){
+        return value != null && doRemove((K) key, value) != null;
+    }
+
+    /**
+     * Replaces the value of the key only if it is currently mapped to oldValue, with one CAS on the node's value.
+     * Time Complexity: O(log n) expected
+     *
+     * @return true if the value was replaced
+     */
+    @Override
+    public boolean replace(K key, V oldValue, V newValue){
+        Objects.requireNonNull(oldValue);
+        Objects.requireNonNull(newValue);
+
+        while (true) {
+            Node<K, V> node = findNode(key);
+            if (node == null)
+                return false;
+
+            V value = node.val;
+            if (value == null || !value.equals(oldValue))
+                return false;
+            if (VAL.compareAndSet(node, value, newValue))
+                return true;
+        }
+    }
+
+    /**
+     * Replaces the value of the key only if the key is present.
+     * Time Complexity: O(log n) expected
+     *
+     * @return the previous value, or null if the key was absent
+     */
+    @Override
+    public V replace(K key, V value){
+        Objects.requireNonNull(value);
+
+        while (true) {
+            Node<K, V> node = findNode(key);
+            if (node == null)
+                return null;
+
+            V oldValue = node.val;
+            if (oldValue == null)
+                return null;
+            if (VAL.compareAndSet(node, oldValue, value))
+                return oldValue;
+        }
+    }
+
+    /**
+     * Returns the value of the key. Wait-free: it never retries and never writes shared memory.
+     * Time Complexity: O(log n) expected
+     * Space Complexity: O(1)
+     *
+     * @param key the key to search for
+     * @return the value of the key, or null if it is absent
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key){
+        K k = (K) key;
+        Node<K, V> pred = head, curNode = null;
+
+        for (int level = MAX_LEVEL - 1; level >= 0; --level) {
+            curNode = pred.next[level].getReference();
+            while (curNode != null) {
+                boolean[] marked = {false};
+                Node<K, V> succ = curNode.next[level].get(marked);
+                while (marked[0] && succ != null) { // step over removed nodes without unlinking them
+                    curNode = succ;
+                    succ = curNode.next[level].get(marked);
+                }
+                if (marked[0]) { // the last node of this level is being removed
+                    curNode = null;
+                    break;
+                }
+
+                if (curNode.key.compareTo(k) < 0) {
+                    pred = curNode;
+                    curNode = succ;
+                } else {
+                    break;
+                }
+            }
+        }
+
+        return (curNode != null && curNode.key.compareTo(k) == 0) ? curNode.val : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key){
+        return get(key) != null;
+    }
+
+    /**
+     * Returns the number of keys. Under concurrent updates this is only an estimate.
+     * Time Complexity: O(number of contending threads)
+     * Space Complexity: O(1)
+     */
+    @Override
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, size.sum()));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getFirstEntry() == null;
+    }
+
+    @Override
+    public void clear() {
+        Map.Entry<K, V> entry;
+        while ((entry = getFirstEntry()) != null)
+            remove(entry.getKey());
+    }
+
+    @Override
+    Map.Entry<K, V> getFirstEntry() {
+        return exportEntry(liveFrom(head.next[0].getReference()));
+    }
+
+    @Override
+    Map.Entry<K, V> getLastEntry() {
+        return findBefore(null, false);
+    }
+
+    @Override
+    Map.Entry<K, V> getCeilingEntry(K key) {
+        return exportEntry(findAfter(key, true));
+    }
+
+    @Override
+    Map.Entry<K, V> getHigherEntry(K key) {
+        return exportEntry(findAfter(key, false));
+    }
+
+    @Override
+    Map.Entry<K, V> getFloorEntry(K key) {
+        return findBefore(key, true);
+    }
+
+    @Override
+    Map.Entry<K, V> getLowerEntry(K key) {
+        return findBefore(key, false);
+    }
+
+    @Override
+    Iterator<Map.Entry<K, V>> entryIterator(boolean descending, boolean fromStart, K start, boolean startInclusive,
+                                            boolean toEnd, K fence, boolean fenceInclusive) {
+        return new EntryIterator(descending, fromStart, start, startInclusive, toEnd, fence, fenceInclusive);
+    }
+
+    /**
+     * Stores the value, or only reads the current one when onlyIfAbsent is set and the key is present.
+     * @return the previous value of the key, or null if it was absent
+     */
+    private V doPut(K key, V value, boolean onlyIfAbsent) {
+        Objects.requireNonNull(value);
+        Node<K, V>[] preds = newPath(), succs = newPath();
+
+        while (true) {
+            if (find(key, preds, succs)) { // update value if key exists
+                Node<K, V> node = succs[0];
+                V oldValue = node.val;
+                if (oldValue == null) { // being removed, help unlink it and try again
+                    markBottom(node);
+                    continue;
+                }
+                if (onlyIfAbsent || VAL.compareAndSet(node, oldValue, value))
+                    return oldValue;
+                continue;
+            }
+
+            int topLevel = randomLevel();
+            Node<K, V> newNode = new Node<>(key, value, topLevel);
+            for (int level = 0; level < topLevel; ++level)
+                newNode.next[level].set(succs[level], false);
+
+            // Linking the bottom level is the linearization point, upper levels are only shortcuts.
+            if (!preds[0].next[0].compareAndSet(succs[0], newNode, false, false))
+                continue;
+
+            size.increment();
+            linkUpperLevels(newNode, preds, succs);
+            return null;
+        }
+    }
+
+    /**
+     * Removes the key, or only when it is mapped to expectedValue if that is not null.
+     * @return the removed value, or null if nothing was removed
+     */
+    private V doRemove(K key, Object expectedValue) {
+        Node<K, V>[] preds = newPath(), succs = newPath();
+
+        while (true) {
+            if (!find(key, preds, succs))
+                return null;
+
+            Node<K, V> node = succs[0];
+            V oldValue = node.val;
+            if (oldValue == null) // another thread won the removal
+                return null;
+            if (expectedValue != null && !expectedValue.equals(oldValue))
+                return null;
+            if (!VAL.compareAndSet(node, oldValue, null))
+                continue;
+
+            size.decrement();
+            for (int level = node.next.length - 1; level > 0; --level) { // mark top-down, the bottom mark comes last
+                boolean[] marked = {false};
+                Node<K, V> succ = node.next[level].get(marked);
+                while (!marked[0]) {
+                    node.next[level].attemptMark(succ, true);
+                    succ = node.next[level].get(marked);
+                }
+            }
+            markBottom(node);
+
+            find(key, preds, succs); // snips the node out of every level
+            return oldValue;
+        }
+    }
+
+    // The node holding the key on the bottom level, removed or not, or null.
+    private Node<K, V> findNode(K key) {
+        Node<K, V>[] preds = newPath(), succs = newPath();
+        return find(key, preds, succs) ? succs[0] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] newPath() {
+        return (Node<K, V>[]) new Node<?, ?>[MAX_LEVEL];
+    }
+
+    /**
+     * Fills preds/succs with the nodes around the key on every level, unlinking marked nodes on the way.
+     * @return true if succs[0] holds the key
+     */
+    private boolean find(K key, Node<K, V>[] preds, Node<K, V>[] succs) {
+        boolean[] marked = {false};
+
+        retry:
+        while (true) {
+            Node<K, V> pred = head;
+
+            for (int level = MAX_LEVEL - 1; level >= 0; --level) {
+                Node<K, V> curNode = pred.next[level].getReference();
+
+                while (curNode != null) {
+                    Node<K, V> succ = curNode.next[level].get(marked);
+                    while (marked[0]) { // curNode is removed on this level, snip it
+                        if (!pred.next[level].compareAndSet(curNode, succ, false, false))
+                            continue retry; // pred changed or got marked itself, start over
+                        curNode = succ;
+                        if (curNode == null)
+                            break;
+                        succ = curNode.next[level].get(marked);
+                    }
+                    if (curNode == null)
+                        break;
+
+                    if (curNode.key.compareTo(key) < 0) {
+                        pred = curNode;
+                        curNode = succ;
+                    } else {
+                        break;
+                    }
+                }
+
+                preds[level] = pred;
+                succs[level] = curNode;
+            }
+
+            return succs[0] != null && succs[0].key.compareTo(key) == 0;
+        }
+    }
+
+    // Links a freshly inserted node into its upper levels; gives up as soon as the node is being removed.
+    private void linkUpperLevels(Node<K, V> newNode, Node<K, V>[] preds, Node<K, V>[] succs) {
+        for (int level = 1; level < newNode.next.length; ++level) {
+            while (true) {
+                Node<K, V> pred = preds[level], succ = succs[level];
+                boolean[] marked = {false};
+                Node<K, V> curNext = newNode.next[level].get(marked);
+                if (marked[0])
+                    return;
+                if (curNext != succ && !newNode.next[level].compareAndSet(curNext, succ, false, false))
+                    continue; // got marked meanwhile, re-checked above
+
+                if (pred.next[level].compareAndSet(succ, newNode, false, false))
+                    break;
+
+                if (!find(newNode.key, preds, succs) || succs[0] != newNode)
+                    return;
+            }
+        }
+    }
+
+    private void markBottom(Node<K, V> node) {
+        boolean[] marked = {false};
+        Node<K, V> succ = node.next[0].get(marked);
+        while (!marked[0]) {
+            node.next[0].compareAndSet(succ, succ, false, true);
+            succ = node.next[0].get(marked);
+        }
+    }
+
+    // First node at or after curNode (on the bottom level) that has not been removed.
+    private Node<K, V> liveFrom(Node<K, V> curNode) {
+        while (curNode != null && curNode.val == null)
+            curNode = curNode.next[0].getReference();
+
+        return curNode;
+    }
+
+    // First live node with a key > key (or >= key when inclusive).
+    private Node<K, V> findAfter(K key, boolean inclusive) {
+        Node<K, V> pred = head;
+
+        for (int level = MAX_LEVEL - 1; level >= 0; --level) {
+            Node<K, V> curNode = pred.next[level].getReference();
+            while (curNode != null) {
+                int cmp = curNode.key.compareTo(key);
+                if (cmp > 0 || (cmp == 0 && inclusive))
+                    break;
+
+                pred = curNode;
+                curNode = curNode.next[level].getReference();
+            }
+        }
+
+        return liveFrom(pred.next[0].getReference());
+    }
+
+    /**
+     * Last live entry with a key < key (or <= key when inclusive); a null key means the last entry of the map.
+     * If the node found turns out to be removed, the search repeats strictly before it.
+     */
+    private Map.Entry<K, V> findBefore(K key, boolean inclusive) {
+        while (true) {
+            Node<K, V> pred = head;
+
+            for (int level = MAX_LEVEL - 1; level >= 0; --level) {
+                Node<K, V> curNode = pred.next[level].getReference();
+                while (curNode != null) {
+                    int cmp = (key == null) ? -1 : curNode.key.compareTo(key);
+                    if (cmp > 0 || (cmp == 0 && !inclusive))
+                        break;
+
+                    pred = curNode;
+                    curNode = curNode.next[level].getReference();
+                }
+            }
+
+            if (pred == head)
+                return null;
+
+            V value = pred.val;
+            if (value != null)
+                return new AbstractMap.SimpleImmutableEntry<>(pred.key, value);
+
+            key = pred.key;
+            inclusive = false;
+        }
+    }
+
+    private Map.Entry<K, V> exportEntry(Node<K, V> node) {
+        while (node != null) {
+            V value = node.val; // read once, the node may be removed right after liveFrom() saw it
+            if (value != null)
+                return new AbstractMap.SimpleImmutableEntry<>(node.key, value);
+
+            node = liveFrom(node.next[0].getReference());
+        }
+
+        return null;
+    }
+
+    // Geometric distribution with p = 1/2, so level i holds about n / 2^i nodes.
+    private static int randomLevel() {
+        int level = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (level < MAX_LEVEL && random.nextBoolean())
+            level++;
+
+        return level;
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        volatile V val;
+        final AtomicMarkableReference<Node<K, V>>[] next; // the mark on next[i] means this node is removed on level i
+
+        @SuppressWarnings("unchecked")
+        Node(K key, V val, int levels) {
+            this.key = key;
+            this.val = val;
+            this.next = (AtomicMarkableReference<Node<K, V>>[]) new AtomicMarkableReference<?>[levels];
+            for (int level = 0; level < levels; ++level)
+                next[level] = new AtomicMarkableReference<>(null, false);
+        }
+    }
+
+    /**
+     * Weakly consistent iterator over a key range. Ascending iteration follows the bottom level;
+     * descending iteration has no back pointers to follow, so each step is a fresh O(log n) search.
+     */
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private final boolean descending;
+        private final boolean toEnd;        // no fence at the far end of the iteration
+        private final K fence;
+        private final boolean fenceInclusive;
+        private Node<K, V> nextNode;        // ascending only
+        private Map.Entry<K, V> nextEntry;
+        private K lastKey;
+
+        EntryIterator(boolean descending, boolean fromStart, K start, boolean startInclusive,
+                      boolean toEnd, K fence, boolean fenceInclusive) {
+            this.descending = descending;
+            this.toEnd = toEnd;
+            this.fence = fence;
+            this.fenceInclusive = fenceInclusive;
+
+            if (descending) {
+                setNext(findBefore(fromStart ? null : start, startInclusive));
+            } else {
+                nextNode = fromStart ? liveFrom(head.next[0].getReference()) : findAfter(start, startInclusive);
+                advanceAscending();
+            }
+        }
+
+        // Takes a value snapshot of nextNode, skipping nodes removed since they were reached.
+        private void advanceAscending() {
+            while (nextNode != null) {
+                V value = nextNode.val;
+                if (value != null) {
+                    setNext(new AbstractMap.SimpleImmutableEntry<>(nextNode.key, value));
+                    return;
+                }
+                nextNode = liveFrom(nextNode.next[0].getReference());
+            }
+            nextEntry = null;
+        }
+
+        private void setNext(Map.Entry<K, V> entry) {
+            nextEntry = entry;
+            if (entry == null || toEnd)
+                return;
+
+            int cmp = entry.getKey().compareTo(fence);
+            if (descending) cmp = -cmp;
+            if (cmp > 0 || (cmp == 0 && !fenceInclusive))
+                nextEntry = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            Map.Entry<K, V> entry = nextEntry;
+            if (entry == null)
+                throw new NoSuchElementException();
+
+            lastKey = entry.getKey();
+            if (descending) {
+                setNext(findBefore(lastKey, false));
+            } else {
+                nextNode = liveFrom(nextNode.next[0].getReference());
+                advanceAscending();
+            }
+            return entry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null)
+                throw new IllegalStateException();
+
+            ConcurrentSkipListMap.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package map;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+
+/**
+ * A persistent (immutable) AVL-balanced ordered map.
+ * put and remove never modify a map; they return a new version that copies only the O(log n) nodes on the
+ * search path and shares every other subtree with the version it came from. Each version is therefore an O(1)
+ * snapshot: readers can hold and iterate any version with no locking while a writer keeps producing new ones
+ * (publish the latest version through a volatile field or an AtomicReference).
+ * Time Complexity for main operations:
+ * - put / remove: O(log n) time and O(log n) newly allocated nodes
+ * - get / navigation: O(log n)
+ * - iterating k entries of any view: O(log n + k)
+ * Space Complexity: O(n) for one version, versions share all untouched nodes
+ */
+public final class PersistentTreeMap<K extends Comparable<K>, V> implements Iterable<Map.Entry<K, V>> {
+    private static final PersistentTreeMap<?, ?> EMPTY = new PersistentTreeMap<>(null, 0);
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentTreeMap(Node<K, V> root, int size){
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map, the starting version of every history.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @return an empty persistent map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K extends Comparable<K>, V> PersistentTreeMap<K, V> empty(){
+        return (PersistentTreeMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns a new version of the map with the key associated to the value. This version is left unchanged.
+     * Time Complexity: O(log n)
+     * Space Complexity: O(log n) - the copied search path (and recursion stack)
+     *
+     * @param key the key, must not be null
+     * @param value the value to be stored
+     * @return the new version of the map
+     */
+    public PersistentTreeMap<K, V> put(K key, V value){
+        Node<K, V> node = getNode(key);
+        if (node != null && node.val == value)
+            return this;
+
+        return new PersistentTreeMap<>(insert(root, key, value), (node == null) ? size + 1 : size);
+    }
+
+    /**
+     * Returns a new version of the map without the key. This version is left unchanged.
+     * Time Complexity: O(log n)
+     * Space Complexity: O(log n) - the copied search path (and recursion stack)
+     *
+     * @param key the key to be removed
+     * @return the new version of the map, or this map if the key is absent
+     */
+    public PersistentTreeMap<K, V> remove(K key){
+        if (getNode(key) == null)
+            return this;
+
+        return new PersistentTreeMap<>(remove(root, key), size - 1);
+    }
+
+    public V get(K key){
+        Node<K, V> node = getNode(key);
+        return (node == null) ? null : node.val;
+    }
+
+    public boolean containsKey(K key){
+        return getNode(key) != null;
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Iterates this version in ascending key order. Later versions never affect the iteration.
+     * Time Complexity: O(log n) to start, O(1) amortized per entry
+     * Space Complexity: O(log n) - the iterator stack
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator(){
+        return new EntryIterator(false, true, null, true, true, null, true);
+    }
+
+    /**
+     * Returns a read-only {@link NavigableMap} over this version, giving floor/ceiling lookups,
+     * sub/head/tail range views and descending iteration. The view never changes, as the version never changes.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @return an unmodifiable navigable view of this version
+     */
+    public NavigableMap<K, V> asMap(){
+        return new MapView();
+    }
+
+    private Node<K, V> getNode(K key){
+        Node<K, V> curNode = root;
+
+        while (curNode != null){
+            int cmp = key.compareTo(curNode.key);
+
+            if (cmp < 0) curNode = curNode.left;
+            else if (cmp > 0) curNode = curNode.right;
+            else return curNode;
+        }
+
+        return null;
+    }
+
+    // Every node on the path is rebuilt, the subtrees hanging off the path are shared.
+    private Node<K, V> insert(Node<K, V> curNode, K key, V value){
+        if (curNode == null) return new Node<>(key, value, null, null);
+
+        int cmp = key.compareTo(curNode.key);
+
+        if (cmp < 0)
+            return balance(curNode.key, curNode.val, insert(curNode.left, key, value), curNode.right);
+        if (cmp > 0)
+            return balance(curNode.key, curNode.val, curNode.left, insert(curNode.right, key, value));
+
+        return new Node<>(key, value, curNode.left, curNode.right); // update value if key exists
+    }
+
+    private Node<K, V> remove(Node<K, V> curNode, K key){
+        int cmp = key.compareTo(curNode.key);
+
+        if (cmp < 0)
+            return balance(curNode.key, curNode.val, remove(curNode.left, key), curNode.right);
+        if (cmp > 0)
+            return balance(curNode.key, curNode.val, curNode.left, remove(curNode.right, key));
+
+        // case have one child or leaf (return null in case of leaf)
+        if (curNode.right == null)
+            return curNode.left;
+
+        if (curNode.left == null)
+            return curNode.right;
+
+        //case have two children (the successor takes this node's place in a fresh node)
+        Node<K, V> successorNode = getMin(curNode.right);
+        return balance(successorNode.key, successorNode.val, curNode.left, removeMin(curNode.right));
+    }
+
+    private Node<K, V> removeMin(Node<K, V> curNode){
+        if (curNode.left == null)
+            return curNode.right;
+
+        return balance(curNode.key, curNode.val, removeMin(curNode.left), curNode.right);
+    }
+
+    private Node<K, V> getMin(Node<K, V> curNode){
+        while (curNode.left != null)
+            curNode = curNode.left;
+
+        return curNode;
+    }
+
+    private Node<K, V> getMax(Node<K, V> curNode){
+        while (curNode.right != null)
+            curNode = curNode.right;
+
+        return curNode;
+    }
+
+    /**
+     * Builds the node (key, val, left, right), rotating if the two subtrees differ in height by two.
+     * Rotations allocate new nodes too, as the nodes they would rewire may belong to older versions.
+     */
+    private Node<K, V> balance(K key, V val, Node<K, V> left, Node<K, V> right){
+        int bf = height(left) - height(right); //We don't expect any bf out of [-2, 2] as the whole tree follows CHANGE-FIX approach.
+
+        if (bf == 2){ //LL
+            if (balanceFactor(left) == -1) //LR
+                left = leftRotate(left); // LR -> LL
+
+            return new Node<>(left.key, left.val, left.left, new Node<>(key, val, left.right, right));
+        }
+        if (bf == -2){ //RR
+            if (balanceFactor(right) == 1) //RL
+                right = rightRotate(right); // RL -> RR
+
+            return new Node<>(right.key, right.val, new Node<>(key, val, left, right.left), right.right);
+        }
+
+        return new Node<>(key, val, left, right);
+    }
+
+    private int balanceFactor(Node<K, V> curNode){
+        return height(curNode.left) - height(curNode.right);
+    }
+
+    private static int height(Node<?, ?> curNode){
+        return (curNode == null) ? -1 : curNode.height; // -1 for null, 0 for leaf
+    }
+
+    private Node<K, V> leftRotate(Node<K, V> curNode){
+        Node<K, V> newRoot = curNode.right;
+        return new Node<>(newRoot.key, newRoot.val, new Node<>(curNode.key, curNode.val, curNode.left, newRoot.left), newRoot.right);
+    }
+
+    private Node<K, V> rightRotate(Node<K, V> curNode){
+        Node<K, V> newRoot = curNode.left;
+        return new Node<>(newRoot.key, newRoot.val, newRoot.left, new Node<>(curNode.key, curNode.val, newRoot.right, curNode.right));
+    }
+
+    /**
+     * Immutable node. Static, so a node shared by many versions does not keep the map that created it alive.
+     */
+    private static final class Node<K, V> {
+        final K key;
+        final V val;
+        final int height;
+        final Node<K, V> left;
+        final Node<K, V> right;
+
+        Node(K key, V val, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.val = val;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(PersistentTreeMap.height(left), PersistentTreeMap.height(right));
+        }
+    }
+
+    /**
+     * In-order iterator over a key range of this version, driven by an explicit stack of pending ancestors.
+     * The tree it walks is immutable, so it needs no fail-fast checks and is safe to use from any thread.
+     */
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private final ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+        private final boolean descending;
+        private final boolean toEnd;        // no fence at the far end of the iteration
+        private final K fence;
+        private final boolean fenceInclusive;
+
+        EntryIterator(boolean descending, boolean fromStart, K start, boolean startInclusive,
+                      boolean toEnd, K fence, boolean fenceInclusive) {
+            this.descending = descending;
+            this.toEnd = toEnd;
+            this.fence = fence;
+            this.fenceInclusive = fenceInclusive;
+
+            // Push every node on the search path for start that lies at or after start in iteration order.
+            Node<K, V> curNode = root;
+            while (curNode != null) {
+                if (fromStart || isAfter(curNode.key, start, startInclusive)) {
+                    stack.push(curNode);
+                    curNode = descending ? curNode.right : curNode.left;
+                } else {
+                    curNode = descending ? curNode.left : curNode.right;
+                }
+            }
+        }
+
+        // true if key comes after the bound in iteration order (or equals it, when inclusive)
+        private boolean isAfter(K key, K bound, boolean inclusive) {
+            int cmp = key.compareTo(bound);
+            if (descending) cmp = -cmp;
+            return cmp > 0 || (cmp == 0 && inclusive);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty() && (toEnd || !isAfter(stack.peek().key, fence, !fenceInclusive));
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Node<K, V> node = stack.pop();
+            Node<K, V> curNode = descending ? node.left : node.right;
+            while (curNode != null) {
+                stack.push(curNode);
+                curNode = descending ? curNode.right : curNode.left;
+            }
+
+            return new AbstractMap.SimpleImmutableEntry<>(node.key, node.val);
+        }
+    }
+
+    /**
+     * Read-only navigable view of one version. Mutators throw UnsupportedOperationException;
+     * use {@link PersistentTreeMap#put} and {@link PersistentTreeMap#remove} to derive new versions instead.
+     */
+    private class MapView extends AbstractNavigableMap<K, V> {
+        @Override
+        @SuppressWarnings("unchecked")
+        public V get(Object key) {
+            return PersistentTreeMap.this.get((K) key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean containsKey(Object key) {
+            return PersistentTreeMap.this.containsKey((K) key);
+        }
+
+        @Override
+        public V remove(Object key) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        Map.Entry<K, V> getFirstEntry() {
+            return exportEntry((root == null) ? null : getMin(root));
+        }
+
+        @Override
+        Map.Entry<K, V> getLastEntry() {
+            return exportEntry((root == null) ? null : getMax(root));
+        }
+
+        @Override
+        Map.Entry<K, V> getCeilingEntry(K key) {
+            Node<K, V> curNode = root, best = null;
+            while (curNode != null) {
+                int cmp = key.compareTo(curNode.key);
+                if (cmp < 0) { best = curNode; curNode = curNode.left; }
+                else if (cmp > 0) curNode = curNode.right;
+                else return exportEntry(curNode);
+            }
+            return exportEntry(best);
+        }
+
+        @Override
+        Map.Entry<K, V> getHigherEntry(K key) {
+            Node<K, V> curNode = root, best = null;
+            while (curNode != null) {
+                if (key.compareTo(curNode.key) < 0) { best = curNode; curNode = curNode.left; }
+                else curNode = curNode.right;
+            }
+            return exportEntry(best);
+        }
+
+        @Override
+        Map.Entry<K, V> getFloorEntry(K key) {
+            Node<K, V> curNode = root, best = null;
+            while (curNode != null) {
+                int cmp = key.compareTo(curNode.key);
+                if (cmp > 0) { best = curNode; curNode = curNode.right; }
+                else if (cmp < 0) curNode = curNode.left;
+                else return exportEntry(curNode);
+            }
+            return exportEntry(best);
+        }
+
+        @Override
+        Map.Entry<K, V> getLowerEntry(K key) {
+            Node<K, V> curNode = root, best = null;
+            while (curNode != null) {
+                if (key.compareTo(curNode.key) > 0) { best = curNode; curNode = curNode.right; }
+                else curNode = curNode.left;
+            }
+            return exportEntry(best);
+        }
+
+        @Override
+        Iterator<Map.Entry<K, V>> entryIterator(boolean descending, boolean fromStart, K start, boolean startInclusive,
+                                                boolean toEnd, K fence, boolean fenceInclusive) {
+            return new EntryIterator(descending, fromStart, start, startInclusive, toEnd, fence, fenceInclusive);
+        }
+
+        private Map.Entry<K, V> exportEntry(Node<K, V> node) {
+            return (node == null) ? null : new AbstractMap.SimpleImmutableEntry<>(node.key, node.val);
+        }
+    }
+}
@@ -1,36 +1,325 @@
 package map;
 
-public class TreeMap <K extends Comparable<K>, V> {
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * An ordered map backed by an AVL tree.
+ * Besides the point operations it implements {@link NavigableMap}: floor/ceiling/higher/lower lookups,
+ * sub/head/tail map views and descending iteration are all answered directly on the tree without copying.
+ * Time Complexity for main operations:
+ * - put / get / remove / navigation: O(log n)
+ * - iterating k entries of any view: O(log n + k)
+ * - building from n sorted entries (fromSorted): O(n)
+ * Space Complexity: O(n) where n is the number of keys in the map
+ */
+public class TreeMap <K extends Comparable<K>, V> extends AbstractNavigableMap<K, V> {
+    private static final int PARALLEL_BUILD_THRESHOLD = 1 << 13; // below this a parallel build stops forking
+
     Node root;
+    private int size;
+    private int modCount; // structural modifications, used by iterators to fail fast
 
     public TreeMap(){
         this.root = null;
     }
 
-    public void put(K key, V value){
+    /**
+     * Builds a perfectly balanced map from keys sorted in strictly ascending order and their values.
+     * Every node takes the middle of its range, so no rotation is ever needed and heights are set on the way back up.
+     * Time Complexity: O(n) - instead of O(n log n) for n calls to put
+     * Space Complexity: O(n) for the nodes + O(log n) for the recursion stack
+     *
+     * @param keys the keys, in strictly ascending order
+     * @param values values[i] is the value of keys[i]
+     * @return a new map holding the entries
+     * @throws IllegalArgumentException if the keys are not strictly ascending or the arrays differ in length
+     */
+    public static <K extends Comparable<K>, V> TreeMap<K, V> fromSorted(K[] keys, V[] values){
+        checkSorted(keys, values);
+
+        TreeMap<K, V> map = new TreeMap<>();
+        map.root = map.build(keys, values, 0, keys.length - 1);
+        map.size = keys.length;
+        return map;
+    }
+
+    /**
+     * Builds a perfectly balanced map by consuming exactly size entries from an iterator, in order.
+     * The tree is built in-order (left subtree, node, right subtree), so no intermediate array is needed.
+     * Time Complexity: O(n)
+     * Space Complexity: O(n) for the nodes + O(log n) for the recursion stack
+     *
+     * @param entries iterator over the entries, in strictly ascending key order
+     * @param size the number of entries to consume
+     * @return a new map holding the entries
+     * @throws IllegalArgumentException if size is negative or the keys are not strictly ascending
+     * @throws NoSuchElementException if the iterator runs out before size entries
+     */
+    public static <K extends Comparable<K>, V> TreeMap<K, V> fromSorted(Iterator<? extends Map.Entry<K, V>> entries, int size){
+        if (size < 0)
+            throw new IllegalArgumentException("Size can't be negative");
+
+        TreeMap<K, V> map = new TreeMap<>();
+        map.root = map.build(entries, size, new Object[1]);
+        map.size = size;
+        return map;
+    }
+
+    /**
+     * Builds a perfectly balanced map from a stream of entries in strictly ascending key order.
+     * The stream is drained into a list first, as its size is not known up front.
+     * Time Complexity: O(n)
+     * Space Complexity: O(n)
+     *
+     * @param entries the entries, in strictly ascending key order
+     * @return a new map holding the entries
+     * @throws IllegalArgumentException if the keys are not strictly ascending
+     */
+    public static <K extends Comparable<K>, V> TreeMap<K, V> fromSorted(Stream<? extends Map.Entry<K, V>> entries){
+        List<? extends Map.Entry<K, V>> list = entries.toList();
+        return fromSorted(list.iterator(), list.size());
+    }
+
+    /**
+     * Same as {@link #fromSorted(Comparable[], Object[])}, but the left and right halves of every large subtree
+     * are built on separate threads of the common fork-join pool.
+     * Time Complexity: O(n) work, O(n / p + log n) on p threads
+     * Space Complexity: O(n) for the nodes + O(log n) for the recursion stack
+     *
+     * @param keys the keys, in strictly ascending order
+     * @param values values[i] is the value of keys[i]
+     * @return a new map holding the entries
+     * @throws IllegalArgumentException if the keys are not strictly ascending or the arrays differ in length
+     */
+    public static <K extends Comparable<K>, V> TreeMap<K, V> parallelFromSorted(K[] keys, V[] values){
+        checkSorted(keys, values);
+
+        TreeMap<K, V> map = new TreeMap<>();
+        map.root = ForkJoinPool.commonPool().invoke(map.new BuildTask(keys, values, 0, keys.length - 1));
+        map.size = keys.length;
+        return map;
+    }
+
+    @Override
+    public V put(K key, V value){
+        Node node = getNode(key);
+        if (node != null) { // update value if key exists, no re-balancing needed
+            V oldValue = node.val;
+            node.val = value;
+            return oldValue;
+        }
+
         this.root = insert(root, key,value);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key){
+        Node node = getNode(key);
+        if (node == null)
+            return null;
+
+        V oldValue = node.val;
+        this.root = remove(root, (K) key);
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    @Override
+    public V get(Object key){
+        Node node = getNode(key);
+        return (node == null) ? null : node.val;
+    }
+
+    @Override
+    public boolean containsKey(Object key){
+        return getNode(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    Map.Entry<K, V> getFirstEntry() {
+        return exportEntry(firstNode());
+    }
+
+    @Override
+    Map.Entry<K, V> getLastEntry() {
+        return exportEntry(lastNode());
+    }
+
+    @Override
+    Map.Entry<K, V> getCeilingEntry(K key) {
+        return exportEntry(ceilingNode(key));
+    }
+
+    @Override
+    Map.Entry<K, V> getHigherEntry(K key) {
+        return exportEntry(higherNode(key));
     }
 
-    public void remove(K key){
-        this.root = remove(root, key);
+    @Override
+    Map.Entry<K, V> getFloorEntry(K key) {
+        return exportEntry(floorNode(key));
     }
 
-    public V get(K key){
+    @Override
+    Map.Entry<K, V> getLowerEntry(K key) {
+        return exportEntry(lowerNode(key));
+    }
+
+    @Override
+    Iterator<Map.Entry<K, V>> entryIterator(boolean descending, boolean fromStart, K start, boolean startInclusive,
+                                            boolean toEnd, K fence, boolean fenceInclusive) {
+        return new EntryIterator(descending, fromStart, start, startInclusive, toEnd, fence, fenceInclusive);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node getNode(Object key){
+        K k = (K) key;
         Node curNode = root;
 
         while (curNode != null){
-            int cmp = key.compareTo(curNode.key);
+            int cmp = k.compareTo(curNode.key);
 
             if (cmp < 0) curNode = curNode.left;
             else if (cmp > 0) curNode = curNode.right;
-            else return curNode.val;
+            else return curNode;
         }
 
         return null;
     }
 
-    public boolean containsKey(K key){
-        return get(key) != null;
+    private Node ceilingNode(K key){
+        Node curNode = root, best = null;
+
+        while (curNode != null){
+            int cmp = key.compareTo(curNode.key);
+
+            if (cmp < 0) { best = curNode; curNode = curNode.left; }
+            else if (cmp > 0) curNode = curNode.right;
+            else return curNode;
+        }
+
+        return best;
+    }
+
+    private Node higherNode(K key){
+        Node curNode = root, best = null;
+
+        while (curNode != null){
+            if (key.compareTo(curNode.key) < 0) { best = curNode; curNode = curNode.left; }
+            else curNode = curNode.right;
+        }
+
+        return best;
+    }
+
+    private Node floorNode(K key){
+        Node curNode = root, best = null;
+
+        while (curNode != null){
+            int cmp = key.compareTo(curNode.key);
+
+            if (cmp > 0) { best = curNode; curNode = curNode.right; }
+            else if (cmp < 0) curNode = curNode.left;
+            else return curNode;
+        }
+
+        return best;
+    }
+
+    private Node lowerNode(K key){
+        Node curNode = root, best = null;
+
+        while (curNode != null){
+            if (key.compareTo(curNode.key) > 0) { best = curNode; curNode = curNode.right; }
+            else curNode = curNode.left;
+        }
+
+        return best;
+    }
+
+    private Node firstNode(){
+        return (root == null) ? null : getMin(root);
+    }
+
+    private Node lastNode(){
+        return (root == null) ? null : getMax(root);
+    }
+
+    // Nodes are reused by remove() (successor copy), so anything handed out of navigation is a snapshot.
+    private Map.Entry<K, V> exportEntry(Node node){
+        return (node == null) ? null : new AbstractMap.SimpleImmutableEntry<>(node.key, node.val);
+    }
+
+    private Node build(K[] keys, V[] values, int start, int end){
+        if (start > end)
+            return null;
+
+        int mid = (start + end) / 2;
+        return link(keys[mid], values[mid], build(keys, values, start, mid - 1), build(keys, values, mid + 1, end));
+    }
+
+    // The left subtree gets the smaller half, the same shape build(keys, values, start, end) gives.
+    // lastKey is a single-cell holder for the previous key, used to check the order.
+    @SuppressWarnings("unchecked")
+    private Node build(Iterator<? extends Map.Entry<K, V>> it, int size, Object[] lastKey){
+        if (size <= 0)
+            return null;
+
+        int leftSize = (size - 1) / 2;
+        Node left = build(it, leftSize, lastKey);
+
+        Map.Entry<K, V> entry = it.next();
+        K key = entry.getKey();
+        if (lastKey[0] != null && ((K) lastKey[0]).compareTo(key) >= 0)
+            throw new IllegalArgumentException("Keys must be in strictly ascending order");
+        lastKey[0] = key;
+
+        return link(key, entry.getValue(), left, build(it, size - 1 - leftSize, lastKey));
+    }
+
+    private Node link(K key, V value, Node left, Node right){
+        Node curNode = new Node(key, value);
+        curNode.left = left;
+        curNode.right = right;
+        updateHeight(curNode);
+        return curNode;
+    }
+
+    private static <K extends Comparable<K>> void checkSorted(K[] keys, Object[] values){
+        if (keys.length != values.length)
+            throw new IllegalArgumentException("Keys and values differ in length");
+
+        for (int i = 1; i < keys.length; ++i)
+            if (keys[i - 1].compareTo(keys[i]) >= 0)
+                throw new IllegalArgumentException("Keys must be in strictly ascending order");
     }
 
     private Node insert(Node curNode,K key, V value) {
@@ -86,6 +375,13 @@ public class TreeMap <K extends Comparable<K>, V> {
         return curNode;
     }
 
+    private Node getMax(Node curNode){
+        while (curNode.right != null)
+            curNode = curNode.right;
+
+        return curNode;
+    }
+
     private void inOrder(Node curNode) {
         if (curNode == null) return;
         inOrder(curNode.left);
@@ -141,7 +437,7 @@ public class TreeMap <K extends Comparable<K>, V> {
         return newRoot;
     }
 
-    private class Node{
+    private class Node implements Map.Entry<K, V>{
         public K key;
         public V val;
         public int height;
@@ -156,6 +452,154 @@ public class TreeMap <K extends Comparable<K>, V> {
             this.left = null;
             this.right = null;
         }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return val;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V oldValue = val;
+            val = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && Objects.equals(key, e.getKey()) && Objects.equals(val, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(val);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + val;
+        }
+    }
+
+    /**
+     * Fork-join task building keys[start..end]: the left half is forked, the right half is built by the current thread.
+     */
+    @SuppressWarnings("serial") // fork/join tasks are never serialized
+    private class BuildTask extends RecursiveTask<Node> {
+        private final K[] keys;
+        private final V[] values;
+        private final int start, end;
+
+        BuildTask(K[] keys, V[] values, int start, int end) {
+            this.keys = keys;
+            this.values = values;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Node compute() {
+            if (end - start + 1 <= PARALLEL_BUILD_THRESHOLD)
+                return build(keys, values, start, end);
+
+            int mid = (start + end) / 2;
+            BuildTask leftTask = new BuildTask(keys, values, start, mid - 1);
+            leftTask.fork();
+            Node right = new BuildTask(keys, values, mid + 1, end).compute();
+
+            return link(keys[mid], values[mid], leftTask.join(), right);
+        }
+    }
+
+    /**
+     * In-order iterator over a key range driven by an explicit stack of the pending ancestors,
+     * so a range scan costs O(log n) to position plus O(1) amortized per entry.
+     * A descending iterator is the mirror image (right spine first).
+     * After remove() the stack is re-seeded from the removed key, as rotations may have reshaped the path.
+     */
+    private class EntryIterator implements Iterator<Map.Entry<K, V>> {
+        private final ArrayDeque<Node> stack = new ArrayDeque<>();
+        private final boolean descending;
+        private final boolean toEnd;        // no fence at the far end of the iteration
+        private final K fence;
+        private final boolean fenceInclusive;
+        private K lastKey;
+        private boolean canRemove;
+        private int expectedModCount = modCount;
+
+        EntryIterator(boolean descending, boolean fromStart, K start, boolean startInclusive,
+                      boolean toEnd, K fence, boolean fenceInclusive) {
+            this.descending = descending;
+            this.toEnd = toEnd;
+            this.fence = fence;
+            this.fenceInclusive = fenceInclusive;
+            seed(fromStart, start, startInclusive);
+        }
+
+        // Pushes every node on the search path for start that lies at or after start in iteration order.
+        private void seed(boolean fromStart, K start, boolean startInclusive) {
+            Node curNode = root;
+
+            while (curNode != null) {
+                if (fromStart || isAfter(curNode.key, start, startInclusive)) {
+                    stack.push(curNode);
+                    curNode = descending ? curNode.right : curNode.left;
+                } else {
+                    curNode = descending ? curNode.left : curNode.right;
+                }
+            }
+        }
+
+        // true if key comes after the bound in iteration order (or equals it, when inclusive)
+        private boolean isAfter(K key, K bound, boolean inclusive) {
+            int cmp = key.compareTo(bound);
+            if (descending) cmp = -cmp;
+            return cmp > 0 || (cmp == 0 && inclusive);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty() && (toEnd || !isAfter(stack.peek().key, fence, !fenceInclusive));
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            Node node = stack.pop();
+            Node curNode = descending ? node.left : node.right;
+            while (curNode != null) {
+                stack.push(curNode);
+                curNode = descending ? curNode.right : curNode.left;
+            }
+
+            lastKey = node.key;
+            canRemove = true;
+            return node;
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            TreeMap.this.remove(lastKey);
+            expectedModCount = modCount;
+            canRemove = false;
+
+            stack.clear();
+            seed(false, lastKey, false);
+        }
     }
 
 }
@@ -0,0 +1,106 @@
+package queue.linkedlist;
+
+import linkedlist.singlelinkedlist.ArenaSingleLinkedList;
+
+/**
+ * A {@link QueueList} kept in an {@link ArenaSingleLinkedList}: dequeued nodes are recycled by later enqueues, so a
+ * queue under steady churn stops allocating once its arena has grown to the peak queue length.
+ */
+public class ArenaQueueList<E> {
+    // Internal list to store elements
+    private final ArenaSingleLinkedList<E> list;
+
+    /**
+     * Constructs an empty queue.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     */
+    public ArenaQueueList() {
+        list = new ArenaSingleLinkedList<>();
+    }
+
+    /**
+     * Constructs an empty queue whose arena already holds the given number of elements.
+     *
+     * @param capacity the number of elements to reserve
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ArenaQueueList(int capacity) {
+        list = new ArenaSingleLinkedList<>(capacity);
+    }
+
+    /**
+     * Adds an element to the end of the queue.
+     * Time Complexity: O(1) amortized
+     * Space Complexity: O(1), none once the arena is warm
+     *
+     * @param element the element to add
+     */
+    public void enqueue(E element) {
+        list.addLast(element);
+    }
+
+    /**
+     * Removes and returns the element at the front of the queue.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @return the element at the front of the queue
+     * @throws RuntimeException if the queue is empty
+     */
+    public E dequeue() {
+        if (isEmpty())
+            throw new RuntimeException("Queue is empty");
+
+        E element = list.getFirst();
+        list.removeFirst();
+
+        return element;
+    }
+
+    /**
+     * Returns the element at the front of the queue without removing it.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @return the element at the front of the queue
+     * @throws RuntimeException if the queue is empty
+     */
+    public E peek() {
+        return list.getFirst();
+    }
+
+    /**
+     * Clears all elements from the queue, keeping the arena for reuse.
+     * Time Complexity: O(c) where c is the number of arena slots ever used
+     * Space Complexity: O(1)
+     */
+    public void clear() {
+        list.removeAll();
+    }
+
+    /**
+     * Checks if the queue contains the specified element.
+     * Time Complexity: O(n)
+     * Space Complexity: O(1)
+     *
+     * @param element the element to check for
+     * @return true if the queue contains the element, false otherwise
+     */
+    public boolean contains(E element) {
+        return list.linearSearch(element) >= 0;
+    }
+
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+    public int size() {
+        return list.getSize();
+    }
+
+    @Override
+    public String toString() {
+        return list.toString();
+    }
+}
@@ -0,0 +1,134 @@
+package stack.linkedlist;
+
+import java.util.Arrays;
+import java.util.EmptyStackException;
+
+/**
+ * A {@link StackList} whose nodes live in an arena: a node is a slot in parallel items and next arrays, and popped
+ * slots go onto a free list that later pushes take from. Once the arena has grown to the peak stack depth, push
+ * and pop allocate nothing.
+ *
+ * @param <E> The type of elements stored in the stack
+ */
+public class ArenaStackList<E> {
+    private static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // items[slot] is the element of a node, null for a free slot
+    private Object[] items;
+    // next[slot] is the node below, or the following free slot for a free one
+    private int[] next;
+    // Slot of the top node.
+    private int first = NIL;
+    // Head of the free list of released slots
+    private int free = NIL;
+    // Slots at or above this mark have never been used
+    private int used;
+
+    /**
+     * Constructs an empty stack
+     */
+    public ArenaStackList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty stack whose arena already holds the given number of elements.
+     *
+     * @param capacity The number of elements to reserve
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ArenaStackList(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Capacity can't be negative");
+
+        items = new Object[capacity];
+        next = new int[capacity];
+    }
+
+    /**
+     * Pushes an item onto the top of this stack.
+     * Time Complexity: O(1) amortized
+     *
+     * @param data The element to be pushed onto the stack
+     * @return The item that was pushed
+     */
+    public E push(E data) {
+        int node;
+        if (free != NIL) {
+            node = free;
+            free = next[node];
+        } else {
+            if (used == items.length) {
+                int capacity = Math.max(DEFAULT_CAPACITY, items.length + (items.length >> 1));
+                items = Arrays.copyOf(items, capacity);
+                next = Arrays.copyOf(next, capacity);
+            }
+            node = used++;
+        }
+
+        items[node] = data;
+        next[node] = first;
+        first = node;
+        return data;
+    }
+
+    /**
+     * Removes and returns the item at the top of this stack, recycling its slot.
+     * Time Complexity: O(1)
+     *
+     * @return The item at the top of the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    public E pop() {
+        if (isEmpty())
+            throw new EmptyStackException();
+
+        int node = first;
+        E data = itemAt(node);
+        first = next[node];
+
+        items[node] = null;
+        next[node] = free;
+        free = node;
+        return data;
+    }
+
+    /**
+     * Returns the item at the top of this stack without removing it.
+     * Time Complexity: O(1)
+     *
+     * @return The item at the top of the stack
+     * @throws EmptyStackException if the stack is empty
+     */
+    public E peek() {
+        if (isEmpty())
+            throw new EmptyStackException();
+
+        return itemAt(first);
+    }
+
+    public boolean isEmpty() {
+        return first == NIL;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder strList = new StringBuilder();
+        strList.append("[");
+
+        for (int curr = first; curr != NIL; curr = next[curr]) {
+            strList.append(items[curr]);
+            if (next[curr] != NIL)
+                strList.append(", ");
+        }
+
+        strList.append("]");
+        return strList.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private E itemAt(int node) {
+        return (E) items[node];
+    }
+}
@@ -1,7 +1,12 @@
 package tree.avl;
 
 import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
 
 /**
  * An implementation of an AVL (Adelson-Velsky and Landis) tree.
@@ -13,8 +18,82 @@ import java.util.Queue;
  * Space Complexity: O(n) where n is the number of nodes in the tree
  */
 public class AVLTree {
+    /** Below this many values a parallel build stops forking and builds the subtree on the current thread */
+    private static final int PARALLEL_BUILD_THRESHOLD = 1 << 13;
+
     private Node root;
 
+    /**
+     * Builds a perfectly balanced AVL tree from values sorted in strictly ascending order.
+     * Every node takes the middle of its range, so no rotation is ever needed and heights are set on the way back up.
+     * Time Complexity: O(n) - instead of O(n log n) for n calls to add
+     * Space Complexity: O(n) for the tree nodes + O(log n) for the recursion stack
+     *
+     * @param sorted the values, in strictly ascending order
+     * @return a new tree holding the values
+     * @throws IllegalArgumentException if the values are not strictly ascending
+     */
+    public static AVLTree fromSorted(int[] sorted){
+        checkAscending(sorted);
+
+        AVLTree tree = new AVLTree();
+        tree.root = build(sorted, 0, sorted.length - 1);
+        return tree;
+    }
+
+    /**
+     * Builds a perfectly balanced AVL tree from a stream of values sorted in strictly ascending order.
+     * The stream is drained into an array first, as its size is not known up front.
+     * Time Complexity: O(n)
+     * Space Complexity: O(n)
+     *
+     * @param sorted the values, in strictly ascending order
+     * @return a new tree holding the values
+     * @throws IllegalArgumentException if the values are not strictly ascending
+     */
+    public static AVLTree fromSorted(IntStream sorted){
+        return fromSorted(sorted.toArray());
+    }
+
+    /**
+     * Builds a perfectly balanced AVL tree by consuming exactly size values from an iterator, in order.
+     * The tree is built in-order (left subtree, node, right subtree), so no intermediate array is needed.
+     * Time Complexity: O(n)
+     * Space Complexity: O(n) for the tree nodes + O(log n) for the recursion stack
+     *
+     * @param sorted iterator over the values, in strictly ascending order
+     * @param size the number of values to consume
+     * @return a new tree holding the values
+     * @throws IllegalArgumentException if size is negative or the values are not strictly ascending
+     * @throws NoSuchElementException if the iterator runs out before size values
+     */
+    public static AVLTree fromSorted(PrimitiveIterator.OfInt sorted, int size){
+        if (size < 0)
+            throw new IllegalArgumentException("Size can't be negative");
+
+        AVLTree tree = new AVLTree();
+        tree.root = build(sorted, size, new long[]{Long.MIN_VALUE});
+        return tree;
+    }
+
+    /**
+     * Same as {@link #fromSorted(int[])}, but the left and right halves of every large subtree are built
+     * on separate threads of the common fork-join pool.
+     * Time Complexity: O(n) work, O(n / p + log n) on p threads
+     * Space Complexity: O(n) for the tree nodes + O(log n) for the recursion stack
+     *
+     * @param sorted the values, in strictly ascending order
+     * @return a new tree holding the values
+     * @throws IllegalArgumentException if the values are not strictly ascending
+     */
+    public static AVLTree parallelFromSorted(int[] sorted){
+        checkAscending(sorted);
+
+        AVLTree tree = new AVLTree();
+        tree.root = ForkJoinPool.commonPool().invoke(new BuildTask(sorted, 0, sorted.length - 1));
+        return tree;
+    }
+
     /**
      * Adds a new value to the AVL tree.
      * Time Complexity: O(log n) - Due to AVL tree balancing
@@ -375,6 +454,85 @@ public class AVLTree {
         return curNode;
     }
 
+    /**
+     * Builds a balanced subtree from arr[start..end], taking the middle value as the root.
+     * Time Complexity: O(n) where n is the size of the range
+     * Space Complexity: O(log n) - Due to recursion stack
+     *
+     * @return the root of the subtree, null if the range is empty
+     */
+    private static Node build(int[] arr, int start, int end){
+        if (start > end)
+            return null;
+
+        int mid = (start + end) / 2;
+        return link(arr[mid], build(arr, start, mid - 1), build(arr, mid + 1, end));
+    }
+
+    /**
+     * Builds a balanced subtree of size nodes from the next values of the iterator, in-order.
+     * The left subtree gets the smaller half, the same shape build(arr, start, end) gives.
+     *
+     * @param last single-cell holder for the previous value, used to check the order
+     * @return the root of the subtree, null if size is 0
+     */
+    private static Node build(PrimitiveIterator.OfInt it, int size, long[] last){
+        if (size <= 0)
+            return null;
+
+        int leftSize = (size - 1) / 2;
+        Node left = build(it, leftSize, last);
+
+        int data = it.nextInt();
+        if (data <= last[0])
+            throw new IllegalArgumentException("Values must be in strictly ascending order");
+        last[0] = data;
+
+        return link(data, left, build(it, size - 1 - leftSize, last));
+    }
+
+    private static Node link(int data, Node left, Node right){
+        Node curNode = new Node(data);
+        curNode.left = left;
+        curNode.right = right;
+        curNode.height = 1 + Math.max(left == null ? -1 : left.height, right == null ? -1 : right.height);
+        return curNode;
+    }
+
+    private static void checkAscending(int[] arr){
+        for (int i = 1; i < arr.length; ++i)
+            if (arr[i - 1] >= arr[i])
+                throw new IllegalArgumentException("Values must be in strictly ascending order");
+    }
+
+    /**
+     * Fork-join task building arr[start..end]: the left half is forked, the right half is built by the current thread.
+     */
+    @SuppressWarnings("serial") // fork/join tasks are never serialized
+    private static class BuildTask extends RecursiveTask<Node> {
+        private final int[] arr;
+        private final int start, end;
+
+        BuildTask(int[] arr, int start, int end) {
+            this.arr = arr;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Node compute() {
+            if (end - start + 1 <= PARALLEL_BUILD_THRESHOLD)
+                return build(arr, start, end);
+
+            int mid = (start + end) / 2;
+            BuildTask leftTask = new BuildTask(arr, start, mid - 1);
+            leftTask.fork();
+            Node right = new BuildTask(arr, mid + 1, end).compute();
+
+            return link(arr[mid], leftTask.join(), right);
+        }
+    }
+
     /**
      * Node class representing a node in the AVL tree.
      * Each node contains a value, height, and references to its left and right children.
@@ -0,0 +1,293 @@
+package tree.avl;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A persistent (immutable) version of {@link AVLTree}.
+ * add and remove never modify a tree; they return a new tree that copies only the nodes on the search path
+ * and shares every other subtree with the tree it came from. Holding on to a tree is therefore an O(1) snapshot,
+ * and any number of threads can read old trees without locking while new ones are being derived.
+ * Time Complexity for main operations:
+ * - Insertion: O(log n), allocating O(log n) nodes
+ * - Deletion: O(log n), allocating O(log n) nodes
+ * - Search: O(log n)
+ * Space Complexity: O(n) for one tree, trees derived from each other share all untouched nodes
+ */
+public final class PersistentAVLTree implements Iterable<Integer> {
+    private static final PersistentAVLTree EMPTY = new PersistentAVLTree(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentAVLTree(Node root, int size){
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty tree.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @return an empty persistent AVL tree
+     */
+    public static PersistentAVLTree empty(){
+        return EMPTY;
+    }
+
+    /**
+     * Returns a new tree that also contains the value. This tree is left unchanged.
+     * Time Complexity: O(log n)
+     * Space Complexity: O(log n) - the copied search path (and recursion stack)
+     *
+     * @param data the value to be added
+     * @return the new tree, or this tree if the value is already present
+     */
+    public PersistentAVLTree add(int data){
+        if (contains(data))
+            return this;
+
+        return new PersistentAVLTree(insert(root, data), size + 1);
+    }
+
+    /**
+     * Returns a new tree without the value. This tree is left unchanged.
+     * Time Complexity: O(log n)
+     * Space Complexity: O(log n) - the copied search path (and recursion stack)
+     *
+     * @param data the value to be removed
+     * @return the new tree, or this tree if the value is absent
+     */
+    public PersistentAVLTree remove(int data){
+        if (!contains(data))
+            return this;
+
+        return new PersistentAVLTree(remove(root, data), size - 1);
+    }
+
+    /**
+     * Checks whether the value is in the tree.
+     * Time Complexity: O(log n)
+     * Space Complexity: O(1)
+     *
+     * @param data the value to search for
+     * @return true if the value is present
+     */
+    public boolean contains(int data){
+        Node curNode = root;
+
+        while (curNode != null){
+            if (data < curNode.data) curNode = curNode.left;
+            else if (data > curNode.data) curNode = curNode.right;
+            else return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds the smallest element in the tree that is greater than or equal to the target.
+     * Time Complexity: O(log n)
+     * Space Complexity: O(1)
+     *
+     * @param target the target value to find the lower bound for
+     * @return the smallest element >= target, or Integer.MAX_VALUE if no such element exists
+     */
+    public int getLowerBound(int target){
+        Node curNode = root;
+        int res = Integer.MAX_VALUE;
+
+        while (curNode != null){
+            if (curNode.data >= target){
+                res = curNode.data;
+                curNode = curNode.left;
+            } else {
+                curNode = curNode.right;
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Finds the smallest element in the tree that is strictly greater than the target.
+     * Time Complexity: O(log n)
+     * Space Complexity: O(1)
+     *
+     * @param target the target value to find the upper bound for
+     * @return the smallest element > target, or Integer.MIN_VALUE if no such element exists
+     */
+    public int getUpperBound(int target){
+        Node curNode = root;
+        int res = Integer.MIN_VALUE;
+
+        while (curNode != null){
+            if (curNode.data > target){
+                res = curNode.data;
+                curNode = curNode.left;
+            } else {
+                curNode = curNode.right;
+            }
+        }
+
+        return res;
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * Iterates the values of this tree in ascending order. Trees derived later never affect the iteration.
+     * Time Complexity: O(1) amortized per value
+     * Space Complexity: O(log n) - the iterator stack
+     *
+     * @return an iterator over the values of this tree
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterator(){
+        return new PrimitiveIterator.OfInt() {
+            private final ArrayDeque<Node> stack = new ArrayDeque<>();
+            { pushLeft(root); }
+
+            private void pushLeft(Node curNode) {
+                while (curNode != null) {
+                    stack.push(curNode);
+                    curNode = curNode.left;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public int nextInt() {
+                if (stack.isEmpty())
+                    throw new NoSuchElementException();
+
+                Node curNode = stack.pop();
+                pushLeft(curNode.right);
+                return curNode.data;
+            }
+        };
+    }
+
+    /**
+     * Inserts a value into a copy of the search path.
+     * Time Complexity: O(log n)
+     * Space Complexity: O(log n) - Due to recursion stack
+     *
+     * @param curNode current node being examined
+     * @param data value to be inserted
+     * @return the root of the new subtree
+     */
+    private Node insert(Node curNode, int data){
+        if (curNode == null)
+            return new Node(data, null, null);
+
+        if (data > curNode.data)
+            return balance(curNode.data, curNode.left, insert(curNode.right, data));
+
+        return balance(curNode.data, insert(curNode.left, data), curNode.right);
+    }
+
+    /**
+     * Removes a value from a copy of the search path.
+     * Time Complexity: O(log n)
+     * Space Complexity: O(log n) - Due to recursion stack
+     *
+     * @param curNode current node being examined
+     * @param target value to be removed, known to be present
+     * @return the root of the new subtree
+     */
+    private Node remove(Node curNode, int target){
+        if (curNode.data < target)
+            return balance(curNode.data, curNode.left, remove(curNode.right, target));
+        if (curNode.data > target)
+            return balance(curNode.data, remove(curNode.left, target), curNode.right);
+
+        // case have one child or leaf (return null in case of leaf)
+        if (curNode.right == null)
+            return curNode.left;
+
+        if (curNode.left == null)
+            return curNode.right;
+
+        //case have two children (the successor takes this node's place in a fresh node)
+        Node successorNode = curNode.right;
+        while (successorNode.left != null)
+            successorNode = successorNode.left;
+
+        return balance(successorNode.data, curNode.left, remove(curNode.right, successorNode.data));
+    }
+
+    /**
+     * Builds the node (data, left, right), re-balancing it if needed.
+     * Rotations allocate new nodes too, as the nodes they would rewire may be shared with older trees.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @return the root of the balanced subtree
+     */
+    private Node balance(int data, Node left, Node right){
+        int bf = height(left) - height(right); //We don't expect any bf out of [-2, 2] as the whole tree follows CHANGE-FIX approach.
+
+        if (bf == 2){ //LL
+            if (height(left.left) < height(left.right)) //LR
+                left = leftRotate(left); // LR -> LL
+
+            return new Node(left.data, left.left, new Node(data, left.right, right));
+        }
+        if (bf == -2){ //RR
+            if (height(right.left) > height(right.right)) //RL
+                right = rightRotate(right); // RL -> RR
+
+            return new Node(right.data, new Node(data, left, right.left), right.right);
+        }
+
+        return new Node(data, left, right);
+    }
+
+    private static int height(Node curNode){
+        return (curNode == null) ? -1 : curNode.height; // -1 for null, 0 for leaf
+    }
+
+    private Node leftRotate(Node curNode){
+        Node newRoot = curNode.right;
+        return new Node(newRoot.data, new Node(curNode.data, curNode.left, newRoot.left), newRoot.right);
+    }
+
+    private Node rightRotate(Node curNode){
+        Node newRoot = curNode.left;
+        return new Node(newRoot.data, newRoot.left, new Node(curNode.data, newRoot.right, curNode.right));
+    }
+
+    /**
+     * Immutable node; its height is computed once from its children.
+     */
+    private static final class Node{
+        /** The value stored in this node */
+        final int data;
+        /** The height of this node*/
+        final int height;
+        /** Reference to the left child */
+        final Node left;
+        /** Reference to the right child */
+        final Node right;
+
+        Node(int data, Node left, Node right) {
+            this.data = data;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(PersistentAVLTree.height(left), PersistentAVLTree.height(right));
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package tree.binary;
+
+/**
+ * A pointer-free binary tree stored in implicit (heap) layout: the root is at index 0 and the children of the
+ * node at index i are at 2i + 1 and 2i + 2. Values live in one int[] and a bitmap tells which indices hold a node,
+ * so there are no Node objects, no references to chase and no per-node headers.
+ * Aggregate queries are plain loops over those two arrays. Where a 64-node block of the bitmap is full - all of
+ * it for complete trees - the loop over the values has no per-node branch, which the JIT can unroll and vectorize.
+ * The layout suits complete or near-complete trees; a sparse deep tree needs up to 2^h slots.
+ * A tree built by {@link #fromSorted} is a complete binary search tree in Eytzinger order, searched by
+ * {@link #getLowerBound} with one predictable load per level.
+ */
+public class ArrayBinaryTree {
+    static final int MAX_CAPACITY = 1 << 29; // keeps 2i + 2 within int range
+
+    private final int[] data;        // data[i] is meaningful only if bit i of present is set
+    private final long[] present;
+    private final int capacity;      // highest used index + 1
+    private final int size;
+    private final boolean searchTree;
+
+    ArrayBinaryTree(int[] data, long[] present, int capacity, int size, boolean searchTree) {
+        this.data = data;
+        this.present = present;
+        this.capacity = capacity;
+        this.size = size;
+        this.searchTree = searchTree;
+    }
+
+    /**
+     * Constructs a complete binary tree from its level-order traversal.
+     * Time Complexity: O(n)
+     * Space Complexity: O(n)
+     *
+     * @param levelOrder the values level by level, left to right
+     */
+    public ArrayBinaryTree(int[] levelOrder) {
+        this(padded(levelOrder), fullBitmap(levelOrder.length), levelOrder.length, levelOrder.length, false);
+    }
+
+    /**
+     * Builds a complete binary search tree in Eytzinger (BFS) order from sorted values.
+     * The values are laid out by an in-order walk of the implicit tree, so the in-order of the result is the input.
+     * Time Complexity: O(n)
+     * Space Complexity: O(n)
+     *
+     * @param sorted the values in non-decreasing order
+     * @return the search tree
+     * @throws IllegalArgumentException if the values are not sorted
+     */
+    public static ArrayBinaryTree fromSorted(int[] sorted) {
+        for (int i = 1; i < sorted.length; ++i)
+            if (sorted[i - 1] > sorted[i])
+                throw new IllegalArgumentException("Values must be sorted");
+
+        int n = sorted.length;
+        ArrayBinaryTree tree = new ArrayBinaryTree(new int[roundUp(n)], fullBitmap(n), n, n, true);
+
+        int k = 0;
+        for (int i = tree.leftmost(0); i >= 0; i = tree.successor(i))
+            tree.data[i] = sorted[k++];
+
+        return tree;
+    }
+
+    /**
+     * Finds the smallest element that is greater than or equal to the target. Only for trees built by fromSorted.
+     * The descent is branchless: the comparison result itself picks the child, and the answer is recovered from
+     * the final index by dropping the trailing right turns.
+     * Time Complexity: O(log n)
+     * Space Complexity: O(1)
+     *
+     * @param target the target value to find the lower bound for
+     * @return the smallest element >= target, or Integer.MAX_VALUE if no such element exists
+     * @throws IllegalStateException if the tree is not a search tree
+     */
+    public int getLowerBound(int target) {
+        if (!searchTree)
+            throw new IllegalStateException("Lower bound needs a tree built by fromSorted");
+
+        int k = 1; // 1-based index, children of k are 2k and 2k + 1
+        while (k <= size)
+            k = 2 * k + (data[k - 1] < target ? 1 : 0);
+
+        k >>= Integer.numberOfTrailingZeros(~k) + 1; // backtrace to the last left turn
+
+        return k == 0 ? Integer.MAX_VALUE : data[k - 1];
+    }
+
+    /**
+     * Prints the tree nodes in in-order traversal (Left-Value-Right), walking from each node to its successor by
+     * index arithmetic instead of keeping a stack.
+     * Time Complexity: O(n) where n is the number of slots
+     * Space Complexity: O(1)
+     *
+     * @throws RuntimeException if the tree is empty
+     */
+    public void printInOrder() {
+        if (size == 0)
+            throw new RuntimeException("The tree is empty");
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = leftmost(0); i >= 0; i = successor(i))
+            sb.append(data[i]).append(' ');
+
+        System.out.println(sb);
+    }
+
+    /**
+     * Prints the nodes level by level; each level is a contiguous range of indices.
+     * Time Complexity: O(n) where n is the number of slots
+     * Space Complexity: O(1)
+     */
+    public void printLevelOrder() {
+        for (int level = 0, start = 0; start < capacity; ++level, start = 2 * start + 1) {
+            System.out.println("Level : " + level);
+
+            StringBuilder sb = new StringBuilder();
+            for (int i = start; i < Math.min(2 * start + 1, capacity); ++i)
+                if (isPresent(i))
+                    sb.append(data[i]).append(' ');
+
+            System.out.println(sb);
+        }
+    }
+
+    /**
+     * Returns the total number of nodes in the tree.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @return the number of nodes in the tree
+     */
+    public int countNodes() {
+        return size;
+    }
+
+    /**
+     * Returns the height of the tree, read off the depth of the last used index.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1)
+     *
+     * @return the height of the tree, or -1 if the tree is empty
+     */
+    public int height() {
+        return size == 0 ? -1 : 31 - Integer.numberOfLeadingZeros(capacity);
+    }
+
+    /**
+     * Returns the maximum value in the tree.
+     * Time Complexity: O(n) where n is the number of slots
+     * Space Complexity: O(1)
+     *
+     * @return the maximum value in the tree, or Integer.MIN_VALUE if the tree is empty
+     */
+    public int getMax() {
+        int max = Integer.MIN_VALUE;
+
+        for (int w = 0; w < present.length; ++w) {
+            long bits = present[w];
+            int base = w << 6;
+
+            if (bits == -1L) { // full block, no per-node test
+                for (int i = base; i < base + 64; ++i)
+                    max = Math.max(max, data[i]);
+            } else {
+                for (; bits != 0; bits &= bits - 1)
+                    max = Math.max(max, data[base + Long.numberOfTrailingZeros(bits)]);
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Returns the minimum value in the tree.
+     * Time Complexity: O(n) where n is the number of slots
+     * Space Complexity: O(1)
+     *
+     * @return the minimum value in the tree, or Integer.MAX_VALUE if the tree is empty
+     */
+    public int getMin() {
+        int min = Integer.MAX_VALUE;
+
+        for (int w = 0; w < present.length; ++w) {
+            long bits = present[w];
+            int base = w << 6;
+
+            if (bits == -1L) {
+                for (int i = base; i < base + 64; ++i)
+                    min = Math.min(min, data[i]);
+            } else {
+                for (; bits != 0; bits &= bits - 1)
+                    min = Math.min(min, data[base + Long.numberOfTrailingZeros(bits)]);
+            }
+        }
+
+        return min;
+    }
+
+    /**
+     * Checks if the tree contains a node with the specified value. Search trees descend, others scan.
+     * Time Complexity: O(log n) for search trees, O(n) otherwise
+     * Space Complexity: O(1)
+     *
+     * @param value the value to search for
+     * @return true if the tree contains the value, false otherwise
+     */
+    public boolean contains(int value) {
+        if (searchTree)
+            return size > 0 && value <= data[rightmost(0)] && getLowerBound(value) == value;
+
+        for (int w = 0; w < present.length; ++w) {
+            long bits = present[w];
+            int base = w << 6;
+
+            if (bits == -1L) {
+                boolean found = false;
+                for (int i = base; i < base + 64; ++i)
+                    found |= data[i] == value;
+                if (found)
+                    return true;
+            } else {
+                for (; bits != 0; bits &= bits - 1)
+                    if (data[base + Long.numberOfTrailingZeros(bits)] == value)
+                        return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the number of leaf nodes in the tree.
+     * Time Complexity: O(n) where n is the number of slots
+     * Space Complexity: O(1)
+     *
+     * @return the number of leaf nodes in the tree
+     */
+    public int countLeaves() {
+        if (size == capacity) // complete: every index past the last parent is a leaf
+            return size - size / 2;
+
+        int result = 0;
+        for (int i = 0; i < capacity; ++i)
+            if (isPresent(i) && !isPresent(2 * i + 1) && !isPresent(2 * i + 2))
+                ++result;
+
+        return result;
+    }
+
+    /**
+     * Returns the diameter of the tree.
+     * The diameter is the length of the longest path between any two nodes in the tree.
+     * Children always have larger indices than their parent, so one backward pass computes every height
+     * bottom-up and the diameter with it.
+     * Time Complexity: O(n) where n is the number of slots
+     * Space Complexity: O(n) for the heights
+     *
+     * @return the diameter of the tree
+     */
+    public int getDiameter() {
+        int[] height = new int[capacity];
+        int diameter = 0;
+
+        for (int i = capacity - 1; i >= 0; --i) {
+            if (!isPresent(i))
+                continue;
+
+            int left = isPresent(2 * i + 1) ? height[2 * i + 1] : -1;
+            int right = isPresent(2 * i + 2) ? height[2 * i + 2] : -1;
+
+            height[i] = 1 + Math.max(left, right);
+            diameter = Math.max(diameter, left + right + 2); //the 2 for left and right edges connected the children
+        }
+
+        return diameter;
+    }
+
+    /**
+     * Checks if the tree is a mirror of itself. Each level is a contiguous range compared against its reverse.
+     * Time Complexity: O(n) where n is the number of slots
+     * Space Complexity: O(1)
+     *
+     * @return true if the tree is symmetric, false if it is not or is empty
+     */
+    public boolean isSymmetric() {
+        if (size == 0)
+            return false;
+
+        for (int start = 0; start < capacity; start = 2 * start + 1) {
+            int end = 2 * start; // last index of the level, may be past capacity
+
+            for (int i = start, j = end; i < j; ++i, --j) {
+                boolean hasI = isPresent(i), hasJ = isPresent(j);
+
+                if (hasI != hasJ || (hasI && data[i] != data[j]))
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean isComplete() {
+        return size == capacity;
+    }
+
+    private boolean isPresent(int i) {
+        return i < capacity && (present[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private int leftmost(int i) {
+        if (!isPresent(i))
+            return -1;
+
+        while (isPresent(2 * i + 1))
+            i = 2 * i + 1;
+
+        return i;
+    }
+
+    private int rightmost(int i) {
+        while (isPresent(2 * i + 2))
+            i = 2 * i + 2;
+
+        return i;
+    }
+
+    // In-order successor: leftmost node of the right subtree, else the first ancestor reached from its left.
+    private int successor(int i) {
+        if (isPresent(2 * i + 2))
+            return leftmost(2 * i + 2);
+
+        while (i > 0 && (i & 1) == 0) // climb while i is a right child
+            i = (i - 1) / 2;
+
+        return i == 0 ? -1 : (i - 1) / 2;
+    }
+
+    // Values padded to whole 64-slot blocks, so full-block loops never check bounds.
+    private static int[] padded(int[] values) {
+        int[] data = new int[roundUp(values.length)];
+        System.arraycopy(values, 0, data, 0, values.length);
+        return data;
+    }
+
+    private static int roundUp(int n) {
+        return (n + 63) & ~63;
+    }
+
+    private static long[] fullBitmap(int n) {
+        if (n > MAX_CAPACITY)
+            throw new IllegalArgumentException("Tree too large for the implicit array layout");
+
+        long[] bits = new long[roundUp(n) >>> 6];
+        for (int i = 0; i < n >>> 6; ++i)
+            bits[i] = -1L;
+        if ((n & 63) != 0)
+            bits[n >>> 6] = (1L << n) - 1;
+
+        return bits;
+    }
+}
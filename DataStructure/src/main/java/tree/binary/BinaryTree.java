@@ -1,6 +1,20 @@
 package tree.binary;
 
+import tree.traversal.TraversalOrder;
+import tree.traversal.TreeTraversals;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
  * A binary tree implementation that supports various tree operations.
@@ -8,7 +22,30 @@ import java.util.*;
  * and other common binary tree operations.
  */
 public class BinaryTree {
+    private static final TreeTraversals.NodeAccess<Node> NODE_ACCESS = new TreeTraversals.NodeAccess<>() {
+        @Override
+        public Node left(Node node) {
+            return node.left;
+        }
+
+        @Override
+        public Node right(Node node) {
+            return node.right;
+        }
+
+        @Override
+        public int data(Node node) {
+            return node.data;
+        }
+    };
+
+    private static final int MAGIC = 0x42545245; // "BTRE"
+    private static final int BLOCK_NODES = 32;   // nodes per block: one long of shape bits, then their values
+    private static final int BLOCK_BYTES = Long.BYTES + BLOCK_NODES * Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 16;
+
     private Node root;
+    private int parallelCutoffDepth = defaultCutoffDepth();
 
     /**
      * Constructs a binary tree with a single root node.
@@ -23,14 +60,94 @@ public class BinaryTree {
 
     /**
      * Constructs a binary tree from pre-order and in-order traversals.
-     * Time Complexity: O(n^2) in worst case (unbalanced tree)
-     * Space Complexity: O(n) for recursion stack
+     * With distinct values every root is located in the in-order through a value-to-index map; with duplicates
+     * the sequences are split by searching, which is quadratic in the worst case. Both deques are consumed on
+     * either path: they are empty once the tree is built.
+     * Time Complexity: O(n) for distinct values, O(n^2) in worst case otherwise (unbalanced tree)
+     * Space Complexity: O(n) for the map and the recursion stack
      *
      * @param preOrder the pre-order traversal sequence
      * @param inOrder the in-order traversal sequence
+     * @throws IllegalArgumentException if the sequences differ in length
      */
     public BinaryTree(Deque<Integer> preOrder, Deque<Integer> inOrder) {
-        this.root = buildTreeFromPreIn(preOrder, inOrder);
+        if (preOrder.size() != inOrder.size())
+            throw new IllegalArgumentException("Mismatched pre-order and in-order length");
+
+        int[] in = inOrder.stream().mapToInt(Integer::intValue).toArray();
+        Map<Integer, Integer> inIndex = indexOf(in);
+
+        if (inIndex == null) {
+            this.root = buildTreeFromPreIn(preOrder, inOrder);
+        } else {
+            int[] pre = preOrder.stream().mapToInt(Integer::intValue).toArray();
+            this.root = buildTreeFromPreIn(pre, new int[]{0}, inIndex, 0, in.length - 1);
+            preOrder.clear();
+            inOrder.clear();
+        }
+    }
+
+    /**
+     * Constructs a binary tree from pre-order and in-order traversals of distinct values.
+     * Time Complexity: O(n)
+     * Space Complexity: O(n) for the map + O(h) for the recursion stack
+     *
+     * @param preOrder the pre-order traversal sequence
+     * @param inOrder the in-order traversal sequence
+     * @throws IllegalArgumentException if the sequences differ in length or hold duplicate values
+     */
+    public BinaryTree(int[] preOrder, int[] inOrder) {
+        if (preOrder.length != inOrder.length)
+            throw new IllegalArgumentException("Mismatched pre-order and in-order length");
+
+        Map<Integer, Integer> inIndex = indexOf(inOrder);
+        if (inIndex == null)
+            throw new IllegalArgumentException("Values must be distinct");
+
+        this.root = buildTreeFromPreIn(preOrder, new int[]{0}, inIndex, 0, inOrder.length - 1);
+    }
+
+    private BinaryTree(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Maps every value of the in-order sequence to its position.
+     *
+     * @return the map, or null if some value appears twice
+     */
+    private static Map<Integer, Integer> indexOf(int[] inOrder){
+        Map<Integer, Integer> inIndex = new HashMap<>(inOrder.length * 4 / 3 + 1);
+
+        for (int i = 0; i < inOrder.length; ++i)
+            if (inIndex.put(inOrder[i], i) != null)
+                return null;
+
+        return inIndex;
+    }
+
+    /**
+     * Builds the subtree whose in-order is inOrder[start..end], taking its root from the pre-order.
+     * Time Complexity: O(n) where n is the number of nodes in the subtree
+     * Space Complexity: O(h) where h is the height of the subtree (due to recursion stack)
+     *
+     * @param preOrder the pre-order traversal sequence
+     * @param next holder of the position of the next root in preOrder
+     * @param inIndex the position of every value in the in-order sequence
+     */
+    private Node buildTreeFromPreIn(int[] preOrder, int[] next, Map<Integer, Integer> inIndex, int start, int end){
+        if (start > end) return null;
+
+        Node curNode = new Node(preOrder[next[0]++]); // get the root of the subtree from preOrder
+
+        Integer mid = inIndex.get(curNode.data);
+        if (mid == null || mid < start || mid > end)
+            throw new IllegalArgumentException("Pre-order and in-order don't describe the same tree");
+
+        curNode.left = buildTreeFromPreIn(preOrder, next, inIndex, start, mid - 1);
+        curNode.right = buildTreeFromPreIn(preOrder, next, inIndex, mid + 1, end);
+
+        return curNode;
     }
 
     /**
@@ -259,6 +376,38 @@ public class BinaryTree {
         }
     }
 
+    /**
+     * Returns a lazy iterator over the values in the given order, without building an intermediate list.
+     * Time Complexity: O(1) amortized per value
+     * Space Complexity: O(h) for the depth-first orders, O(w) for the level orders, w being the widest level
+     *
+     * @param order the visiting order
+     * @return the iterator
+     */
+    public PrimitiveIterator.OfInt iterator(TraversalOrder order){
+        return TreeTraversals.iterator(root, order, NODE_ACCESS);
+    }
+
+    public Spliterator.OfInt spliterator(TraversalOrder order){
+        return TreeTraversals.spliterator(root, order, NODE_ACCESS, 0);
+    }
+
+    public IntStream stream(TraversalOrder order){
+        return TreeTraversals.stream(root, order, NODE_ACCESS, 0);
+    }
+
+    /**
+     * Calls the visitor with every value in the given order, allocating nothing per node.
+     * Time Complexity: O(n) where n is the number of nodes in the tree
+     * Space Complexity: same as the iterator
+     *
+     * @param order the visiting order
+     * @param visitor the callback receiving the values
+     */
+    public void traverse(TraversalOrder order, IntConsumer visitor){
+        TreeTraversals.traverse(root, order, NODE_ACCESS, visitor);
+    }
+
     public String toParenthesizedString(){
         StringBuilder sb = new StringBuilder();
         toParenthesizedString(root, sb);
@@ -269,6 +418,128 @@ public class BinaryTree {
         return toCanonicalParenthesisString(root);
     }
 
+    /**
+     * Writes the tree in a compact binary form: a header (magic, node count) and then the nodes in pre-order,
+     * in blocks of 32. A block starts with one long holding 2 bits per node (has left child, has right child),
+     * followed by the values of its nodes. That is 4.25 bytes per node, and no nulls are written at all.
+     * Time Complexity: O(n) where n is the number of nodes in the tree
+     * Space Complexity: O(h) for the traversal stack + a fixed 64 KiB buffer
+     *
+     * @param channel the channel to write to, left open
+     * @throws IOException if writing fails
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.putInt(MAGIC).putInt((int) stream(TraversalOrder.PRE_ORDER).count()); // iterative, unlike countNodes
+
+        Deque<Node> stack = new ArrayDeque<>();
+        if (root != null)
+            stack.push(root);
+
+        int[] values = new int[BLOCK_NODES];
+        while (!stack.isEmpty()){
+            long shape = 0;
+            int count = 0;
+
+            while (count < BLOCK_NODES && !stack.isEmpty()){ //VLR
+                Node curNode = stack.pop();
+
+                if (curNode.left != null)
+                    shape |= 1L << (2 * count);
+                if (curNode.right != null) {
+                    shape |= 2L << (2 * count);
+                    stack.push(curNode.right);
+                }
+                if (curNode.left != null)
+                    stack.push(curNode.left);
+
+                values[count++] = curNode.data;
+            }
+
+            if (buffer.remaining() < BLOCK_BYTES)
+                drain(buffer, channel);
+
+            buffer.putLong(shape);
+            for (int i = 0; i < count; ++i)
+                buffer.putInt(values[i]);
+        }
+
+        drain(buffer, channel);
+    }
+
+    /**
+     * Reads a tree written by {@link #writeTo}, rebuilding it iteratively so deep trees can't overflow the stack.
+     * Time Complexity: O(n) where n is the number of nodes in the tree
+     * Space Complexity: O(n) for the tree + a fixed 64 KiB buffer
+     *
+     * @param channel the channel to read from, left open
+     * @return the tree
+     * @throws IOException if reading fails or the channel ends early
+     * @throws IllegalArgumentException if the data is not a valid tree encoding
+     */
+    public static BinaryTree readFrom(ReadableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+
+        fill(buffer, channel, 2 * Integer.BYTES);
+        if (buffer.getInt() != MAGIC)
+            throw new IllegalArgumentException("Not a binary tree encoding");
+
+        int size = buffer.getInt();
+        if (size < 0)
+            throw new IllegalArgumentException("Corrupted binary tree encoding");
+
+        Node root = null;
+        Node leftParent = null;                        // node whose left child comes next, if any
+        Deque<Node> rightParents = new ArrayDeque<>(); // nodes still waiting for their right child
+
+        for (int read = 0; read < size; ){
+            int count = Math.min(BLOCK_NODES, size - read);
+            fill(buffer, channel, Long.BYTES + count * Integer.BYTES);
+            long shape = buffer.getLong();
+
+            for (int i = 0; i < count; ++i, ++read){
+                Node curNode = new Node(buffer.getInt());
+
+                if (root == null)
+                    root = curNode;
+                else if (leftParent != null)
+                    leftParent.left = curNode;
+                else if (!rightParents.isEmpty())
+                    rightParents.pop().right = curNode;
+                else
+                    throw new IllegalArgumentException("Corrupted binary tree encoding");
+
+                if ((shape & (2L << (2 * i))) != 0)
+                    rightParents.push(curNode);
+                leftParent = (shape & (1L << (2 * i))) != 0 ? curNode : null;
+            }
+        }
+
+        if (leftParent != null || !rightParents.isEmpty())
+            throw new IllegalArgumentException("Corrupted binary tree encoding");
+
+        return new BinaryTree(root);
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    // Makes at least bytes readable in the buffer, which is kept in read mode.
+    private static void fill(ByteBuffer buffer, ReadableByteChannel channel, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes)
+            return;
+
+        buffer.compact();
+        while (buffer.position() < bytes)
+            if (channel.read(buffer) < 0)
+                throw new EOFException("Binary tree encoding ends early");
+        buffer.flip();
+    }
+
 //    public void printDuplicateSubtrees(){
 //        printDuplicateSubtrees(root);
 //    }
@@ -433,6 +704,213 @@ public class BinaryTree {
         return getDiameter(root);
     }
 
+    /**
+     * Copies the tree into the pointer-free implicit layout of {@link ArrayBinaryTree}, keeping every node at
+     * its heap index (root 0, children of i at 2i + 1 and 2i + 2).
+     * Time Complexity: O(n + 2^h) where h is the height - O(n) for complete or near-complete trees
+     * Space Complexity: O(2^h) for the slots
+     *
+     * @return the array-backed copy
+     * @throws IllegalArgumentException if the tree is too deep and sparse for the layout
+     */
+    public ArrayBinaryTree toArrayTree(){
+        Deque<Node> nodes = new ArrayDeque<>();
+        Deque<Integer> indices = new ArrayDeque<>();
+        int capacity = 0, size = 0;
+
+        if (root != null) {
+            nodes.add(root);
+            indices.add(0);
+        }
+
+        // first pass finds the last index, as the arrays are sized by it
+        while (!nodes.isEmpty()){
+            Node curNode = nodes.remove();
+            long idx = indices.remove();
+
+            if (idx >= ArrayBinaryTree.MAX_CAPACITY)
+                throw new IllegalArgumentException("Tree too deep and sparse for the implicit array layout");
+
+            capacity = Math.max(capacity, (int) idx + 1);
+            ++size;
+
+            if (curNode.left != null) {
+                nodes.add(curNode.left);
+                indices.add((int) (2 * idx + 1));
+            }
+            if (curNode.right != null) {
+                nodes.add(curNode.right);
+                indices.add((int) (2 * idx + 2));
+            }
+        }
+
+        int[] data = new int[(capacity + 63) & ~63];
+        long[] present = new long[data.length >>> 6];
+        fillArrayTree(root, 0, data, present);
+
+        return new ArrayBinaryTree(data, present, capacity, size, false);
+    }
+
+    private void fillArrayTree(Node curNode, int idx, int[] data, long[] present){
+        if (curNode == null)
+            return;
+
+        data[idx] = curNode.data;
+        present[idx >>> 6] |= 1L << idx;
+
+        fillArrayTree(curNode.left, 2 * idx + 1, data, present);
+        fillArrayTree(curNode.right, 2 * idx + 2, data, present);
+    }
+
+    /**
+     * Sets how deep the parallel queries keep splitting. Subtrees rooted at this depth or deeper are processed
+     * sequentially by one task, so up to 2^depth tasks are created. The tree doesn't track subtree sizes, so the
+     * cutoff is a depth; the default gives 8 to 16 tasks per core to smooth out unbalanced subtrees.
+     *
+     * @param depth the depth at which splitting stops, 0 makes the parallel queries sequential
+     * @throws IllegalArgumentException if depth is negative
+     */
+    public void setParallelCutoffDepth(int depth){
+        if (depth < 0)
+            throw new IllegalArgumentException("Cutoff depth can't be negative");
+
+        parallelCutoffDepth = depth;
+    }
+
+    /**
+     * Parallel version of {@link #getMax()}: the top levels are split into fork-join tasks.
+     * Time Complexity: O(n / p + 2^d) where p is the parallelism and d the cutoff depth
+     * Space Complexity: O(h) per worker (due to recursion stack)
+     *
+     * @return the maximum value in the tree, or Integer.MIN_VALUE if the tree is empty
+     */
+    public int parallelGetMax(){
+        return invoke(this::getMax, (curNode, left, right) -> Math.max(curNode.data, Math.max(left, right)));
+    }
+
+    /**
+     * Parallel version of {@link #getMin()}.
+     * Time Complexity: O(n / p + 2^d) where p is the parallelism and d the cutoff depth
+     * Space Complexity: O(h) per worker (due to recursion stack)
+     *
+     * @return the minimum value in the tree, or Integer.MAX_VALUE if the tree is empty
+     */
+    public int parallelGetMin(){
+        return invoke(this::getMin, (curNode, left, right) -> Math.min(curNode.data, Math.min(left, right)));
+    }
+
+    /**
+     * Parallel version of {@link #height()}.
+     * Time Complexity: O(n / p + 2^d) where p is the parallelism and d the cutoff depth
+     * Space Complexity: O(h) per worker (due to recursion stack)
+     *
+     * @return the height of the tree, or -1 if the tree is empty
+     */
+    public int parallelHeight(){
+        return invoke(this::getHeight, (curNode, left, right) -> 1 + Math.max(left, right));
+    }
+
+    /**
+     * Parallel version of {@link #countNodes()}.
+     * Time Complexity: O(n / p + 2^d) where p is the parallelism and d the cutoff depth
+     * Space Complexity: O(h) per worker (due to recursion stack)
+     *
+     * @return the number of nodes in the tree
+     */
+    public int parallelCountNodes(){
+        return invoke(this::countNodes, (curNode, left, right) -> 1 + left + right);
+    }
+
+    /**
+     * Parallel version of {@link #countLeaves()}.
+     * Time Complexity: O(n / p + 2^d) where p is the parallelism and d the cutoff depth
+     * Space Complexity: O(h) per worker (due to recursion stack)
+     *
+     * @return the number of leaf nodes in the tree
+     */
+    public int parallelCountLeaves(){
+        return invoke(curNode -> curNode == null ? 0 : countLeaves(curNode),
+                (curNode, left, right) -> isLeaf(curNode) ? 1 : left + right);
+    }
+
+    /**
+     * Parallel version of {@link #contains(int)}. The tasks share a found flag, so once one of them finds the
+     * value the others stop at the next node they visit instead of walking the rest of their subtrees.
+     * Time Complexity: O(n / p + 2^d) where p is the parallelism and d the cutoff depth
+     * Space Complexity: O(h) per worker (due to recursion stack)
+     *
+     * @param value the value to search for
+     * @return true if the tree contains the value, false otherwise
+     */
+    public boolean parallelContains(int value){
+        return ForkJoinPool.commonPool().invoke(new ContainsTask(root, 0, value, new AtomicBoolean()));
+    }
+
+    /**
+     * Parallel version of {@link #isSymmetric()}: each pair of mirrored subtrees is compared by its own task.
+     * The tasks share a mismatch flag, so the first difference found stops all of them.
+     * Time Complexity: O(n / p + 2^d) where p is the parallelism and d the cutoff depth
+     * Space Complexity: O(h) per worker (due to recursion stack)
+     *
+     * @return true if the tree is symmetric, false if it is not or is empty
+     */
+    public boolean parallelIsSymmetric(){
+        if (root == null)
+            return false;
+
+        return ForkJoinPool.commonPool().invoke(new MirrorTask(root.left, root.right, 1, new AtomicBoolean()));
+    }
+
+    /**
+     * Parallel version of {@link #getDiameter()}. Each task returns the height and the diameter of its subtree,
+     * so it is also linear instead of quadratic.
+     * Time Complexity: O(n / p + 2^d) where p is the parallelism and d the cutoff depth
+     * Space Complexity: O(h) per worker (due to recursion stack)
+     *
+     * @return the diameter of the tree
+     */
+    public int parallelGetDiameter(){
+        int[] heightAndDiameter = invoke(curNode -> {
+                    int[] diameter = {0};
+                    int height = getHeightAndDiameter(curNode, diameter);
+                    return new int[]{height, diameter[0]};
+                },
+                (curNode, left, right) -> new int[]{1 + Math.max(left[0], right[0]),
+                        Math.max(left[0] + right[0] + 2, Math.max(left[1], right[1]))});
+
+        return heightAndDiameter[1];
+    }
+
+    private <R> R invoke(Function<Node, R> sequential, Combiner<R> combiner){
+        return ForkJoinPool.commonPool().invoke(new AggregateTask<>(root, 0, sequential, combiner));
+    }
+
+    private static int defaultCutoffDepth(){
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        // 8 times the parallelism rounded up to the next power of two: 8 to 16 tasks per core
+        return 32 - Integer.numberOfLeadingZeros(parallelism) + 3;
+    }
+
+    /**
+     * Calculates the height of the subtree rooted at the given node, recording its diameter on the way.
+     * Time Complexity: O(n) where n is the number of nodes in the subtree
+     * Space Complexity: O(h) where h is the height of the subtree (due to recursion stack)
+     *
+     * @param curNode the root of the subtree
+     * @param diameter holder of the largest diameter found so far
+     * @return the height of the subtree, or -1 if the subtree is empty
+     */
+    private int getHeightAndDiameter(Node curNode, int[] diameter){
+        if (curNode == null)
+            return -1;
+
+        int left = getHeightAndDiameter(curNode.left, diameter);
+        int right = getHeightAndDiameter(curNode.right, diameter);
+        diameter[0] = Math.max(diameter[0], left + right + 2);
+
+        return 1 + Math.max(left, right);
+    }
+
     /**
      * Calculates the diameter of the subtree rooted at the given node.
      * Time Complexity: O(n²) where n is the number of nodes in the subtree
@@ -547,6 +1025,17 @@ public class BinaryTree {
         return contains(curNode.left, value) || contains(curNode.right, value);
     }
 
+    // contains that gives up once another task has set found; the tree contains the value then, so it returns true.
+    private boolean contains(Node curNode, int value, AtomicBoolean found){
+        if (curNode == null)
+            return false;
+
+        if (curNode.data == value || found.get())
+            return true;
+
+        return contains(curNode.left, value, found) || contains(curNode.right, value, found);
+    }
+
     /**
      * Counts the number of leaf nodes in the subtree rooted at the given node.
      * Time Complexity: O(n) where n is the number of nodes in the subtree
@@ -803,6 +1292,17 @@ public class BinaryTree {
         return isMirror(firstTree.left, secondTree.right) && isMirror(firstTree.right, secondTree.left);
     }
 
+    // isMirror that gives up once another task has set mismatch; the tree isn't symmetric then, so it returns false.
+    private boolean isMirror(Node firstTree, Node secondTree, AtomicBoolean mismatch){
+        if (firstTree == null && secondTree == null)
+            return true;
+
+        if (firstTree == null || secondTree == null || firstTree.data != secondTree.data || mismatch.get())
+            return false;
+
+        return isMirror(firstTree.left, secondTree.right, mismatch) && isMirror(firstTree.right, secondTree.left, mismatch);
+    }
+
     private boolean isFlipEquivalent(Node firstTree, Node secondTree){
         if (firstTree == null && secondTree == null)
             return true;
@@ -814,6 +1314,133 @@ public class BinaryTree {
                 && (isFlipEquivalent(firstTree.right, secondTree.right) || isFlipEquivalent(firstTree.right, secondTree.left));
     }
 
+    /**
+     * Merges the results of the two subtrees of a node into the result of the node.
+     */
+    @FunctionalInterface
+    private interface Combiner<R> {
+        R combine(Node curNode, R left, R right);
+    }
+
+    /**
+     * Fork-join task of the parallel queries: splits into one task per child until the cutoff depth,
+     * then runs the sequential query on its subtree.
+     */
+    @SuppressWarnings("serial") // fork/join tasks are never serialized
+    private final class AggregateTask<R> extends RecursiveTask<R> {
+        private final Node curNode;
+        private final int depth;
+        private final Function<Node, R> sequential;
+        private final Combiner<R> combiner;
+
+        AggregateTask(Node curNode, int depth, Function<Node, R> sequential, Combiner<R> combiner){
+            this.curNode = curNode;
+            this.depth = depth;
+            this.sequential = sequential;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute(){
+            if (curNode == null || depth >= parallelCutoffDepth)
+                return sequential.apply(curNode);
+
+            AggregateTask<R> left = new AggregateTask<>(curNode.left, depth + 1, sequential, combiner);
+            AggregateTask<R> right = new AggregateTask<>(curNode.right, depth + 1, sequential, combiner);
+            left.fork();
+
+            R rightResult = right.compute(); // this thread takes the right subtree itself
+            return combiner.combine(curNode, left.join(), rightResult);
+        }
+    }
+
+    /**
+     * Fork-join task of parallelContains. The value is checked at every split node before forking, and whichever
+     * task finds it sets the shared found flag, which the sequential searches below the cutoff poll at every node.
+     * The join of the forked half is then cheap, as that half stops at its next node.
+     */
+    @SuppressWarnings("serial") // fork/join tasks are never serialized
+    private final class ContainsTask extends RecursiveTask<Boolean> {
+        private final Node curNode;
+        private final int depth;
+        private final int value;
+        private final AtomicBoolean found;
+
+        ContainsTask(Node curNode, int depth, int value, AtomicBoolean found){
+            this.curNode = curNode;
+            this.depth = depth;
+            this.value = value;
+            this.found = found;
+        }
+
+        @Override
+        protected Boolean compute(){
+            if (curNode == null)
+                return false;
+
+            boolean hit;
+            if (curNode.data == value || found.get()) {
+                hit = true;
+            } else if (depth >= parallelCutoffDepth) {
+                hit = contains(curNode, value, found);
+            } else {
+                ContainsTask left = new ContainsTask(curNode.left, depth + 1, value, found);
+                ContainsTask right = new ContainsTask(curNode.right, depth + 1, value, found);
+                left.fork();
+
+                boolean rightHit = right.compute();
+                hit = left.join() || rightHit;
+            }
+
+            if (hit)
+                found.set(true);
+            return hit;
+        }
+    }
+
+    /**
+     * Fork-join task of parallelIsSymmetric. The first task to find a difference sets the shared mismatch flag,
+     * which the other tasks and the sequential comparisons below the cutoff poll at every pair of nodes.
+     */
+    @SuppressWarnings("serial") // fork/join tasks are never serialized
+    private final class MirrorTask extends RecursiveTask<Boolean> {
+        private final Node firstTree;
+        private final Node secondTree;
+        private final int depth;
+        private final AtomicBoolean mismatch;
+
+        MirrorTask(Node firstTree, Node secondTree, int depth, AtomicBoolean mismatch){
+            this.firstTree = firstTree;
+            this.secondTree = secondTree;
+            this.depth = depth;
+            this.mismatch = mismatch;
+        }
+
+        @Override
+        protected Boolean compute(){
+            if (firstTree == null && secondTree == null)
+                return true;
+
+            boolean mirrored;
+            if (firstTree == null || secondTree == null || firstTree.data != secondTree.data || mismatch.get()) {
+                mirrored = false;
+            } else if (depth >= parallelCutoffDepth) {
+                mirrored = isMirror(firstTree, secondTree, mismatch);
+            } else {
+                MirrorTask outer = new MirrorTask(firstTree.left, secondTree.right, depth + 1, mismatch);
+                MirrorTask inner = new MirrorTask(firstTree.right, secondTree.left, depth + 1, mismatch);
+                outer.fork();
+
+                boolean innerMirrored = inner.compute();
+                mirrored = outer.join() && innerMirrored;
+            }
+
+            if (!mirrored)
+                mismatch.set(true);
+            return mirrored;
+        }
+    }
+
     /**
      * A node in the binary tree.
      * Each node contains an integer value and references to its left and right children.
@@ -1,6 +1,14 @@
 package tree.bst;
 
+import tree.traversal.TraversalOrder;
+import tree.traversal.TreeTraversals;
+
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
  * A Binary Search Tree implementation that maintains the BST property:
@@ -8,6 +16,23 @@ import java.util.ArrayList;
  * and all elements in the right subtree are greater than the node's value.
  */
 public class BinarySearchTree {
+    private static final TreeTraversals.NodeAccess<Node> NODE_ACCESS = new TreeTraversals.NodeAccess<>() {
+        @Override
+        public Node left(Node node) {
+            return node.left;
+        }
+
+        @Override
+        public Node right(Node node) {
+            return node.right;
+        }
+
+        @Override
+        public int data(Node node) {
+            return node.data;
+        }
+    };
+
     private Node root;
 
     /**
@@ -111,6 +136,38 @@ public class BinarySearchTree {
         return arr;
     }
 
+    /**
+     * Returns a lazy iterator over the values in the given order, without building an intermediate list.
+     * Time Complexity: O(1) amortized per value
+     * Space Complexity: O(h) for the depth-first orders, O(w) for the level orders, w being the widest level
+     *
+     * @param order the visiting order
+     * @return the iterator
+     */
+    public PrimitiveIterator.OfInt iterator(TraversalOrder order){
+        return TreeTraversals.iterator(root, order, NODE_ACCESS);
+    }
+
+    public Spliterator.OfInt spliterator(TraversalOrder order){
+        return TreeTraversals.spliterator(root, order, NODE_ACCESS, order == TraversalOrder.IN_ORDER ? Spliterator.SORTED | Spliterator.DISTINCT : Spliterator.DISTINCT);
+    }
+
+    public IntStream stream(TraversalOrder order){
+        return TreeTraversals.stream(root, order, NODE_ACCESS, order == TraversalOrder.IN_ORDER ? Spliterator.SORTED | Spliterator.DISTINCT : Spliterator.DISTINCT);
+    }
+
+    /**
+     * Calls the visitor with every value in the given order, allocating nothing per node.
+     * Time Complexity: O(n) where n is the number of nodes in the tree
+     * Space Complexity: same as the iterator
+     *
+     * @param order the visiting order
+     * @param visitor the callback receiving the values
+     */
+    public void traverse(TraversalOrder order, IntConsumer visitor){
+        TreeTraversals.traverse(root, order, NODE_ACCESS, visitor);
+    }
+
     /**
      * Checks if the tree contains the specified value.
      * Time Complexity: O(h) where h is the height of the tree
@@ -176,12 +233,26 @@ public class BinarySearchTree {
 
     /**
      * Converts the tree to a balanced BST using the provided sorted array.
+     * Repeated values are kept once, as insert does, so the tree stays free of duplicates.
      * Time Complexity: O(n) where n is the length of the array
-     * Space Complexity: O(n) for the tree nodes + O(log n) for the recursion stack
+     * Space Complexity: O(n) for the tree nodes + O(log n) for the recursion stack, plus O(n) for a copy
+     * when the array has repeated values
      * 
      * @param arr the sorted array of values
      */
     public void toBalancedBST(int[] arr){
+       int unique = 1;
+       while (unique < arr.length && arr[unique - 1] != arr[unique])
+           unique++;
+
+       if (unique < arr.length) { // repeats found, keep each value once in a copy
+           int[] values = arr.clone();
+           for (int i = unique + 1; i < arr.length; i++)
+               if (values[unique - 1] != arr[i])
+                   values[unique++] = arr[i];
+           arr = Arrays.copyOf(values, unique);
+       }
+
        root = toBalanced(arr, 0, arr.length - 1);
     }
 
@@ -0,0 +1,17 @@
+package tree.traversal;
+
+/**
+ * The orders in which the nodes of a binary tree can be visited.
+ */
+public enum TraversalOrder {
+    /** Value-Left-Right */
+    PRE_ORDER,
+    /** Left-Value-Right */
+    IN_ORDER,
+    /** Left-Right-Value */
+    POST_ORDER,
+    /** Level by level, left to right */
+    LEVEL_ORDER,
+    /** Level by level, alternating left to right and right to left, starting left to right */
+    SPIRAL_ORDER
+}
@@ -0,0 +1,243 @@
+package tree.traversal;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy traversals shared by the int-valued binary trees, which keep their node classes private and plug them in
+ * through a {@link NodeAccess}. Every traversal is iterative: an explicit stack (or queue) replaces the recursion,
+ * values are produced one at a time as unboxed ints, and nothing is allocated per node - the deque only grows its
+ * backing array, to O(h) for the depth-first orders and O(w) for the level orders.
+ */
+public final class TreeTraversals {
+
+    private TreeTraversals() {
+    }
+
+    /**
+     * How a traversal reads a tree's nodes.
+     *
+     * @param <N> the node type
+     */
+    public interface NodeAccess<N> {
+        N left(N node);
+
+        N right(N node);
+
+        int data(N node);
+    }
+
+    /**
+     * Returns a lazy iterator over the values of the tree rooted at root.
+     * Time Complexity: O(1) amortized per value
+     * Space Complexity: O(h) for the depth-first orders, O(w) for the level orders, w being the widest level
+     *
+     * @param root the root of the tree, may be null
+     * @param order the visiting order
+     * @param access how to read the nodes
+     * @return the iterator
+     */
+    public static <N> PrimitiveIterator.OfInt iterator(N root, TraversalOrder order, NodeAccess<N> access) {
+        return switch (order) {
+            case PRE_ORDER -> new PreOrderIterator<>(root, access);
+            case IN_ORDER -> new InOrderIterator<>(root, access);
+            case POST_ORDER -> new PostOrderIterator<>(root, access);
+            case LEVEL_ORDER -> new LevelOrderIterator<>(root, access);
+            case SPIRAL_ORDER -> new SpiralOrderIterator<>(root, access);
+        };
+    }
+
+    /**
+     * Returns a spliterator over the values, splitting off batches for parallel streams.
+     * Time Complexity: O(1) amortized per value
+     * Space Complexity: same as the iterator
+     *
+     * @param characteristics extra characteristics the caller knows of, e.g. SORTED for the in-order of a BST
+     */
+    public static <N> Spliterator.OfInt spliterator(N root, TraversalOrder order, NodeAccess<N> access,
+                                                    int characteristics) {
+        return Spliterators.spliteratorUnknownSize(iterator(root, order, access),
+                Spliterator.ORDERED | Spliterator.NONNULL | characteristics);
+    }
+
+    public static <N> IntStream stream(N root, TraversalOrder order, NodeAccess<N> access, int characteristics) {
+        return StreamSupport.intStream(spliterator(root, order, access, characteristics), false);
+    }
+
+    /**
+     * Calls the visitor with every value, in the given order.
+     * Time Complexity: O(n)
+     * Space Complexity: same as the iterator
+     */
+    public static <N> void traverse(N root, TraversalOrder order, NodeAccess<N> access, IntConsumer visitor) {
+        iterator(root, order, access).forEachRemaining(visitor);
+    }
+
+    private abstract static class NodeIterator<N> implements PrimitiveIterator.OfInt {
+        final NodeAccess<N> access;
+        final ArrayDeque<N> deque = new ArrayDeque<>();
+
+        NodeIterator(NodeAccess<N> access) {
+            this.access = access;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !deque.isEmpty();
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            return access.data(advance());
+        }
+
+        // Returns the next node; called only when hasNext() is true.
+        abstract N advance();
+    }
+
+    private static final class PreOrderIterator<N> extends NodeIterator<N> { //VLR
+        PreOrderIterator(N root, NodeAccess<N> access) {
+            super(access);
+            if (root != null)
+                deque.push(root);
+        }
+
+        @Override
+        N advance() {
+            N curNode = deque.pop();
+
+            if (access.right(curNode) != null) // right pushed first, so left is visited first
+                deque.push(access.right(curNode));
+            if (access.left(curNode) != null)
+                deque.push(access.left(curNode));
+
+            return curNode;
+        }
+    }
+
+    private static final class InOrderIterator<N> extends NodeIterator<N> { //LVR
+        InOrderIterator(N root, NodeAccess<N> access) {
+            super(access);
+            pushLeft(root);
+        }
+
+        private void pushLeft(N curNode) {
+            while (curNode != null) {
+                deque.push(curNode);
+                curNode = access.left(curNode);
+            }
+        }
+
+        @Override
+        N advance() {
+            N curNode = deque.pop();
+            pushLeft(access.right(curNode));
+            return curNode;
+        }
+    }
+
+    private static final class PostOrderIterator<N> extends NodeIterator<N> { //LRV
+        private N pending;      // root of a subtree not pushed yet
+        private N lastVisited;
+
+        PostOrderIterator(N root, NodeAccess<N> access) {
+            super(access);
+            pending = root;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pending != null || !deque.isEmpty();
+        }
+
+        @Override
+        N advance() {
+            while (true) {
+                if (pending != null) {
+                    deque.push(pending);
+                    pending = access.left(pending);
+                    continue;
+                }
+
+                N top = deque.peek();
+                N right = access.right(top);
+                if (right != null && right != lastVisited) { // right subtree not done yet
+                    pending = right;
+                    continue;
+                }
+
+                lastVisited = deque.pop();
+                return lastVisited;
+            }
+        }
+    }
+
+    private static final class LevelOrderIterator<N> extends NodeIterator<N> {
+        LevelOrderIterator(N root, NodeAccess<N> access) {
+            super(access);
+            if (root != null)
+                deque.add(root);
+        }
+
+        @Override
+        N advance() {
+            N curNode = deque.remove();
+
+            if (access.left(curNode) != null)
+                deque.add(access.left(curNode));
+            if (access.right(curNode) != null)
+                deque.add(access.right(curNode));
+
+            return curNode;
+        }
+    }
+
+    // Same deque discipline as BinaryTree.printLevelOrderSpiral, one node per step.
+    private static final class SpiralOrderIterator<N> extends NodeIterator<N> {
+        private boolean fwdLvl = false;
+        private int remaining;      // nodes of the current level still to be returned
+
+        SpiralOrderIterator(N root, NodeAccess<N> access) {
+            super(access);
+            if (root != null)
+                deque.add(root);
+        }
+
+        @Override
+        N advance() {
+            if (remaining == 0) { // start of a new level
+                remaining = deque.size();
+                fwdLvl = !fwdLvl;
+            }
+            --remaining;
+
+            N curNode;
+            if (fwdLvl) {
+                curNode = deque.removeFirst();
+
+                if (access.left(curNode) != null)
+                    deque.addLast(access.left(curNode)); // left added first here
+                if (access.right(curNode) != null)
+                    deque.addLast(access.right(curNode));
+            } else {
+                curNode = deque.removeLast();
+
+                if (access.right(curNode) != null)
+                    deque.addFirst(access.right(curNode)); // right added first here
+                if (access.left(curNode) != null)
+                    deque.addFirst(access.left(curNode));
+            }
+
+            return curNode;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package tree.trie;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe variant of {@link Trie} for read-mostly dictionaries: any number of threads can look words up
+ * and auto-complete without ever taking a lock while other threads insert and remove.
+ * Each node publishes one immutable State (sorted child keys, parallel child nodes, end-of-word flag), and every
+ * update builds a new State and compare-and-sets it in, retrying on contention. Readers just follow whatever
+ * states are published, so they see every node either before or after an update, never halfway.
+ * remove prunes nodes left without words by CAS'ing their state to DEAD before unlinking them, so an insert that
+ * raced into such a node notices and retries instead of being lost; any thread meeting a DEAD child helps unlink it.
+ * autoComplete and getAll are weakly consistent: they reflect some of the updates made while they run.
+ * Time Complexity for main operations:
+ * - insert / remove / isWordExist / isPrefixExist: O(L log S) where L is the word length and S the alphabet size,
+ *   plus O(S) per node copied by an update
+ * Space Complexity: O(N) where N is the total length of the stored words
+ */
+public class ConcurrentTrie {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final State EMPTY = new State(NO_KEYS, NO_CHILDREN, false);
+    private static final State DEAD = new State(NO_KEYS, NO_CHILDREN, false); // told apart from EMPTY by identity
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Node.class, "state", State.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Node root = new Node(); // never pruned
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentTrie() {
+    }
+
+    /**
+     * Adds the word.
+     * Time Complexity: O(L (log S + S)) - a new child array per created node
+     * Space Complexity: O(L) for new nodes
+     *
+     * @param key the word to be added
+     * @return true if the word was absent
+     */
+    public boolean insert(String key) {
+        restart:
+        while (true) {
+            Node curNode = root;
+
+            for (int i = 0; i < key.length(); ++i) {
+                curNode = childOrCreate(curNode, key.charAt(i));
+                if (curNode == null) // the path got pruned under us
+                    continue restart;
+            }
+
+            while (true) {
+                State state = curNode.state;
+                if (state == DEAD)
+                    continue restart;
+                if (state.isEndOfWord)
+                    return false;
+
+                if (curNode.casState(state, new State(state.keys, state.children, true))) {
+                    size.increment();
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the word, then prunes the nodes of its path that no longer lead to any word.
+     * Time Complexity: O(L (log S + S))
+     * Space Complexity: O(L) for the path
+     *
+     * @param word the word to be removed
+     * @return true if the word was present
+     */
+    public boolean remove(String word) {
+        Node[] path = new Node[word.length() + 1];
+        path[0] = root;
+
+        for (int i = 0; i < word.length(); ++i) {
+            path[i + 1] = path[i].state.child(word.charAt(i));
+            if (path[i + 1] == null)
+                return false;
+        }
+
+        Node curNode = path[word.length()];
+        while (true) {
+            State state = curNode.state;
+            if (!state.isEndOfWord) // absent, or DEAD
+                return false;
+
+            if (curNode.casState(state, new State(state.keys, state.children, false)))
+                break;
+        }
+        size.decrement();
+
+        // backtrace, killing and unlinking nodes that became empty
+        for (int i = word.length(); i > 0; --i) {
+            if (!kill(path[i]))
+                return true;
+
+            unlink(path[i - 1], word.charAt(i - 1), path[i]);
+        }
+
+        return true;
+    }
+
+    public boolean isWordExist(String word) {
+        Node curNode = find(word);
+        return curNode != null && curNode.state.isEndOfWord;
+    }
+
+    public boolean isPrefixExist(String prefix) {
+        Node curNode = find(prefix);
+        return curNode != null && curNode.state != DEAD;
+    }
+
+    public String minimalPrefix(String word) {
+        Node curNode = root;
+
+        for (int i = 0; i < word.length(); ++i) {
+            if ((curNode = curNode.state.child(word.charAt(i))) == null)
+                break;
+
+            if (curNode.state.isEndOfWord)
+                return word.substring(0, i + 1);
+        }
+
+        return word;
+    }
+
+    /**
+     * Adds the words starting with the prefix to the list, in lexicographic order. Weakly consistent.
+     * Time Complexity: O(P log S + total length of the results)
+     * Space Complexity: O(longest word) for the recursion stack
+     *
+     * @param prefix the prefix to complete
+     * @param listOfWords the list the words are appended to
+     */
+    public void autoComplete(String prefix, List<String> listOfWords) {
+        Node curNode = find(prefix);
+
+        if (curNode != null)
+            getAll(curNode, new StringBuilder(prefix), listOfWords);
+    }
+
+    public void getAll(List<String> listOfWords) {
+        getAll(root, new StringBuilder(), listOfWords);
+    }
+
+    private void getAll(Node curNode, StringBuilder str, List<String> listOfWords) {
+        State state = curNode.state; // read once, so this level is one consistent snapshot
+
+        if (state.isEndOfWord)
+            listOfWords.add(str.toString());
+
+        for (int i = 0; i < state.keys.length; ++i) {
+            str.append(state.keys[i]);
+
+            getAll(state.children[i], str, listOfWords);
+
+            str.deleteCharAt(str.length() - 1);  // backtrace
+        }
+    }
+
+    /**
+     * Returns the number of words. Exact only when no update is in progress.
+     * Time Complexity: O(number of threads that updated the trie)
+     * Space Complexity: O(1)
+     *
+     * @return the number of words
+     */
+    public int size() {
+        return size.intValue();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private Node find(String str) {
+        Node curNode = root;
+
+        for (int i = 0; i < str.length() && curNode != null; ++i)
+            curNode = curNode.state.child(str.charAt(i));
+
+        return curNode;
+    }
+
+    // Returns the child of node under c, adding it if missing, or null if node itself is DEAD.
+    private Node childOrCreate(Node node, char c) {
+        while (true) {
+            State state = node.state;
+            if (state == DEAD)
+                return null;
+
+            int idx = state.indexOf(c);
+            if (idx >= 0) {
+                Node child = state.children[idx];
+                if (child.state != DEAD)
+                    return child;
+
+                node.casState(state, state.without(idx)); // help the remover unlink it, then look again
+                continue;
+            }
+
+            Node child = new Node();
+            if (node.casState(state, state.with(-(idx + 1), c, child)))
+                return child;
+        }
+    }
+
+    // Marks node DEAD if it holds no word and no child. Returns false if it still leads to some word.
+    private boolean kill(Node node) {
+        while (true) {
+            State state = node.state;
+            if (state == DEAD)
+                return true;
+            if (state.isEndOfWord || state.keys.length > 0)
+                return false;
+
+            if (node.casState(state, DEAD))
+                return true;
+        }
+    }
+
+    private void unlink(Node parent, char c, Node child) {
+        while (true) {
+            State state = parent.state;
+            int idx = state.indexOf(c);
+            if (idx < 0 || state.children[idx] != child) // already unlinked by a helper
+                return;
+
+            if (parent.casState(state, state.without(idx)))
+                return;
+        }
+    }
+
+    /**
+     * Immutable content of a node; replaced as a whole on every update.
+     */
+    private static final class State {
+        final char[] keys;       // sorted
+        final Node[] children;   // children[i] is reached by keys[i]
+        final boolean isEndOfWord;
+
+        State(char[] keys, Node[] children, boolean isEndOfWord) {
+            this.keys = keys;
+            this.children = children;
+            this.isEndOfWord = isEndOfWord;
+        }
+
+        int indexOf(char c) {
+            int lo = 0, hi = keys.length - 1;
+
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] < c) lo = mid + 1;
+                else if (keys[mid] > c) hi = mid - 1;
+                else return mid;
+            }
+
+            return -(lo + 1);
+        }
+
+        Node child(char c) {
+            int idx = indexOf(c);
+            return idx < 0 ? null : children[idx];
+        }
+
+        State with(int pos, char c, Node child) {
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            newKeys[pos] = c;
+            newChildren[pos] = child;
+            System.arraycopy(keys, pos, newKeys, pos + 1, keys.length - pos);
+            System.arraycopy(children, pos, newChildren, pos + 1, children.length - pos);
+
+            return new State(newKeys, newChildren, isEndOfWord);
+        }
+
+        State without(int pos) {
+            if (keys.length == 1)
+                return isEndOfWord ? new State(NO_KEYS, NO_CHILDREN, true) : EMPTY;
+
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            System.arraycopy(keys, pos + 1, newKeys, pos, keys.length - pos - 1);
+            System.arraycopy(children, pos + 1, newChildren, pos, children.length - pos - 1);
+
+            return new State(newKeys, newChildren, isEndOfWord);
+        }
+    }
+
+    private static final class Node {
+        volatile State state = EMPTY;
+
+        boolean casState(State expected, State newState) {
+            return STATE.compareAndSet(this, expected, newState);
+        }
+    }
+}
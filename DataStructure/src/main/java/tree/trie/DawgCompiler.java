@@ -0,0 +1,195 @@
+package tree.trie;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Freezes the words of a {@link Trie} into a minimal DAWG (directed acyclic word graph) file that
+ * {@link MappedDawg} serves from a memory mapping. Besides shared prefixes, the DAWG also shares identical
+ * suffix subtrees, so it has far fewer nodes than the trie it came from.
+ *
+ * Construction is the incremental algorithm for sorted input by Daciuk et al.: words are added in lexicographic
+ * order, and as soon as a branch can no longer change it is replaced by an already registered equivalent state
+ * (same finality, same labels, same targets) or registered itself. The automaton is minimal at every step.
+ */
+public class DawgCompiler {
+
+    private DawgCompiler() {
+    }
+
+    /**
+     * Compiles the words of the trie into a DAWG file, replacing the file if it exists.
+     * Time Complexity: O(N log n) to sort the words, then O(N) to build and write, N being their total length
+     * Space Complexity: O(N) for the sorted words and the automaton
+     *
+     * @param trie the trie to freeze
+     * @param file where to write the DAWG
+     * @throws IOException if the file cannot be written
+     */
+    public static void compile(Trie trie, Path file) throws IOException {
+        List<String> words = new ArrayList<>();
+        trie.getAll(words);
+        Collections.sort(words);
+
+        compile(words, file);
+    }
+
+    /**
+     * Compiles words given in strictly ascending order into a DAWG file, replacing the file if it exists.
+     * Time Complexity: O(N) where N is the total length of the words
+     * Space Complexity: O(N) for the automaton
+     *
+     * @param sortedWords the words, in strictly ascending order
+     * @param file where to write the DAWG
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the words are not strictly ascending
+     */
+    public static void compile(List<String> sortedWords, Path file) throws IOException {
+        State root = build(sortedWords);
+        Map<State, Integer> offsets = new IdentityHashMap<>();
+        int rootOffset;
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MappedDawg.MAGIC);
+            out.writeInt(MappedDawg.VERSION);
+            out.writeInt(0); // node count and root offset are patched once known
+            out.writeInt(0);
+
+            rootOffset = write(root, out, offsets);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putInt(offsets.size()).putInt(rootOffset).flip(), 8);
+        }
+    }
+
+    private static State build(List<String> sortedWords) {
+        State root = new State();
+        Map<State, State> register = new HashMap<>();
+        String previous = null;
+
+        for (String word : sortedWords) {
+            if (previous != null && previous.compareTo(word) >= 0)
+                throw new IllegalArgumentException("Words must be in strictly ascending order");
+
+            // Walk the prefix shared with the previous word, the rest of the previous word's path is now final.
+            int common = 0;
+            State curState = root;
+            while (common < word.length() && curState.count > 0
+                    && curState.labels[curState.count - 1] == word.charAt(common)) {
+                curState = curState.targets[curState.count - 1];
+                ++common;
+            }
+
+            if (curState.count > 0)
+                replaceOrRegister(curState, register);
+
+            for (int i = common; i < word.length(); ++i) {
+                State next = new State();
+                curState.addEdge(word.charAt(i), next);
+                curState = next;
+            }
+            curState.isFinal = true;
+
+            previous = word;
+        }
+
+        if (root.count > 0)
+            replaceOrRegister(root, register);
+
+        return root;
+    }
+
+    // Minimizes the subtree behind the last (most recently added) edge of state, deepest states first.
+    private static void replaceOrRegister(State state, Map<State, State> register) {
+        State child = state.targets[state.count - 1];
+
+        if (child.count > 0)
+            replaceOrRegister(child, register);
+
+        State equivalent = register.putIfAbsent(child, child);
+        if (equivalent != null)
+            state.targets[state.count - 1] = equivalent;
+    }
+
+    // Post-order, so every edge target is already written and its offset known when the parent is written.
+    private static int write(State state, DataOutputStream out, Map<State, Integer> offsets) throws IOException {
+        Integer known = offsets.get(state);
+        if (known != null)
+            return known;
+
+        int[] targetOffsets = new int[state.count];
+        for (int i = 0; i < state.count; ++i)
+            targetOffsets[i] = write(state.targets[i], out, offsets);
+
+        int offset = out.size(); // saturates at Integer.MAX_VALUE, past which offsets no longer fit the format
+        if (offset == Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Dictionary too large for the DAWG format");
+
+        out.writeByte(state.isFinal ? MappedDawg.FINAL_FLAG : 0);
+        out.writeChar(state.count);
+        for (int i = 0; i < state.count; ++i) {
+            out.writeChar(state.labels[i]);
+            out.writeInt(targetOffsets[i]);
+        }
+
+        offsets.put(state, offset);
+        return offset;
+    }
+
+    /**
+     * Automaton state under construction. Input is sorted, so edges are always appended in label order.
+     * Once registered a state never changes again, which is what makes equals/hashCode over it safe:
+     * two states are equivalent when finality and labels match and every target is the very same state.
+     */
+    private static final class State {
+        char[] labels = new char[2];
+        State[] targets = new State[2];
+        int count;
+        boolean isFinal;
+
+        void addEdge(char label, State target) {
+            if (count == labels.length) {
+                labels = Arrays.copyOf(labels, count * 2);
+                targets = Arrays.copyOf(targets, count * 2);
+            }
+            labels[count] = label;
+            targets[count] = target;
+            count++;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof State other) || isFinal != other.isFinal || count != other.count)
+                return false;
+
+            for (int i = 0; i < count; ++i)
+                if (labels[i] != other.labels[i] || targets[i] != other.targets[i])
+                    return false;
+
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = isFinal ? 1 : 0;
+            for (int i = 0; i < count; ++i)
+                hash = 31 * (31 * hash + labels[i]) + System.identityHashCode(targets[i]);
+
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package tree.trie;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Read-only word dictionary answered straight from a memory-mapped DAWG file written by {@link DawgCompiler}.
+ * Opening it is a single mmap, nothing is parsed or copied onto the heap, and every JVM on the host that maps
+ * the same file shares one page-cached copy. Instances are immutable and safe to share between threads.
+ *
+ * File format (big endian):
+ * - header: int magic, int version, int node count, int offset of the root node
+ * - node:   byte flags (bit 0 = a word ends here), char edge count, then per edge: char label, int target node offset
+ * Edges are sorted by label, so a transition is a binary search over fixed-width records.
+ */
+public class MappedDawg {
+    static final int MAGIC = 0x44415747; // "DAWG"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int NODE_HEADER_SIZE = 3;
+    static final int EDGE_SIZE = 6;
+    static final byte FINAL_FLAG = 1;
+
+    private final ByteBuffer buffer;
+    private final int root;
+    private final int nodeCount;
+
+    private MappedDawg(ByteBuffer buffer) {
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+            throw new IllegalArgumentException("Not a DAWG file");
+        if (buffer.getInt(4) != VERSION)
+            throw new IllegalArgumentException("Unsupported DAWG version: " + buffer.getInt(4));
+
+        this.nodeCount = buffer.getInt(8);
+        this.root = buffer.getInt(12);
+    }
+
+    /**
+     * Maps a DAWG file into memory. The mapping stays valid after the channel is closed.
+     * Time Complexity: O(1)
+     * Space Complexity: O(1) on the heap
+     *
+     * @param file a file written by {@link DawgCompiler#compile}
+     * @return a reader over the mapped file
+     * @throws IOException if the file cannot be opened or mapped
+     * @throws IllegalArgumentException if the file is not a DAWG file
+     */
+    public static MappedDawg open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedDawg(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public boolean isWordExist(String word) {
+        int curNode = walk(word);
+        return curNode >= 0 && isFinal(curNode);
+    }
+
+    public boolean isPrefixExist(String prefix) {
+        return walk(prefix) >= 0;
+    }
+
+    /**
+     * Adds every word starting with the prefix to the list, in lexicographic order.
+     * Time Complexity: O(P log S + total length of the results), S being the alphabet size
+     * Space Complexity: O(longest word) for the recursion stack
+     *
+     * @param prefix the prefix to complete
+     * @param listOfWords the list the words are appended to
+     */
+    public void autoComplete(String prefix, List<String> listOfWords) {
+        int curNode = walk(prefix);
+        if (curNode >= 0)
+            getAll(curNode, new StringBuilder(prefix), listOfWords);
+    }
+
+    public void getAll(List<String> listOfWords) {
+        getAll(root, new StringBuilder(), listOfWords);
+    }
+
+    private void getAll(int curNode, StringBuilder str, List<String> listOfWords) {
+        if (isFinal(curNode))
+            listOfWords.add(str.toString());
+
+        int edges = buffer.getChar(curNode + 1);
+        for (int i = 0; i < edges; ++i) {
+            int edge = curNode + NODE_HEADER_SIZE + i * EDGE_SIZE;
+            str.append(buffer.getChar(edge));
+
+            getAll(buffer.getInt(edge + 2), str, listOfWords);
+
+            str.deleteCharAt(str.length() - 1);  // backtrace
+        }
+    }
+
+    // Offset of the node reached by following str from the root, or -1 if str leaves the graph.
+    private int walk(String str) {
+        int curNode = root;
+
+        for (int i = 0; i < str.length() && curNode >= 0; ++i)
+            curNode = child(curNode, str.charAt(i));
+
+        return curNode;
+    }
+
+    private int child(int node, char c) {
+        int lo = 0, hi = buffer.getChar(node + 1) - 1;
+
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int edge = node + NODE_HEADER_SIZE + mid * EDGE_SIZE;
+            char label = buffer.getChar(edge);
+
+            if (label < c) lo = mid + 1;
+            else if (label > c) hi = mid - 1;
+            else return buffer.getInt(edge + 2);
+        }
+
+        return -1;
+    }
+
+    private boolean isFinal(int node) {
+        return (buffer.get(node) & FINAL_FLAG) != 0;
+    }
+}
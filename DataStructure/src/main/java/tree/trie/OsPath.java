@@ -1,45 +1,415 @@
 package tree.trie;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 
+/**
+ * Index of file paths, one trie level per path component.
+ * Component strings are interned in a pool owned by the index, so a name repeated in millions of directories
+ * ("src", "index.html") is stored once. The pool counts the edges using each name, and delete releases the names
+ * of the removed subtree, so the pool never holds names the index no longer uses.
+ * Every node keeps the number of files and their total size in its subtree, which makes "du"-style questions
+ * (fileCount, totalSize) a walk down to the directory instead of a scan of everything below it.
+ */
 public class OsPath {
-    
+
     Node root;
 
+    // Interned component names with the number of edges using them; concurrent for loadParallel
+    private final Map<String, PooledName> names = new ConcurrentHashMap<>();
+
     public OsPath() {
         root = new Node();
     }
 
     public void insert(String[] path) {
-        Node curNode = root;
+        insert(root, path, -1);
+    }
 
-        for (String dir : path) {
-            if (!curNode.child.containsKey(dir))
-                curNode.child.put(dir, new Node());
+    /**
+     * Inserts a file with its size, replacing the size if the file already exists.
+     * Time Complexity: O(D) where D is the depth of the path
+     * Space Complexity: O(D) for new nodes
+     *
+     * @param path the components of the path
+     * @param size the size of the file in bytes
+     */
+    public void insert(String[] path, long size) {
+        if (size < 0)
+            throw new IllegalArgumentException("File size can't be negative");
 
-            curNode = curNode.child.get(dir);
+        insert(root, path, size);
+    }
+
+    // size < 0 keeps the size of an existing file and gives a new one size 0.
+    private void insert(Node from, String[] path, long size) {
+        Node[] nodes = new Node[path.length + 1];
+        Node curNode = nodes[0] = from;
+
+        for (int i = 0; i < path.length; ++i) {
+            Node next = curNode.child.get(path[i]);
+            if (next == null) { // a new edge takes a reference on its name
+                next = new Node();
+                curNode.child.put(intern(path[i]), next);
+            }
+
+            curNode = nodes[i + 1] = next;
         }
 
+        long files = curNode.isEndOfPath ? 0 : 1;
+        long bytes = size < 0 ? 0 : size - curNode.size;
         curNode.isEndOfPath = true;
+        curNode.sized |= size >= 0;
+        curNode.size += bytes;
+
+        for (Node node : nodes) {
+            node.fileCount += files;
+            node.totalSize += bytes;
+        }
     }
 
     public boolean isSubPathExist(String[] subPath){
+        return find(subPath) != null;
+    }
+
+    /**
+     * Counts the files at or below the path.
+     * Time Complexity: O(D) where D is the depth of the path
+     * Space Complexity: O(1)
+     *
+     * @param path the components of a directory or file path
+     * @return the number of files in its subtree, 0 if the path doesn't exist
+     */
+    public long fileCount(String[] path) {
+        Node curNode = find(path);
+        return curNode == null ? 0 : curNode.fileCount;
+    }
+
+    /**
+     * Sums the sizes of the files at or below the path.
+     * Time Complexity: O(D) where D is the depth of the path
+     * Space Complexity: O(1)
+     *
+     * @param path the components of a directory or file path
+     * @return the total size in bytes of its subtree, 0 if the path doesn't exist
+     */
+    public long totalSize(String[] path) {
+        Node curNode = find(path);
+        return curNode == null ? 0 : curNode.totalSize;
+    }
+
+    /**
+     * Deletes the path and everything below it, releasing the interned names of the removed subtree.
+     * The directories above it are kept, even if left empty.
+     * Time Complexity: O(D + S) where D is the depth of the path and S the number of nodes removed
+     * Space Complexity: O(D) for the path, plus O(S) in the worst case for the walk over the subtree
+     *
+     * @param path the components of the path, an empty path clears the index
+     * @return true if the path existed
+     */
+    public boolean delete(String[] path) {
+        if (path.length == 0) {
+            root = new Node();
+            names.clear();
+            return true;
+        }
+
+        Node[] nodes = new Node[path.length];
         Node curNode = root;
 
-        for (String dir : subPath) {
-            if (!curNode.child.containsKey(dir))
+        for (int i = 0; i < path.length; ++i) {
+            nodes[i] = curNode;
+            if ((curNode = curNode.child.get(path[i])) == null)
                 return false;
+        }
 
-            curNode = curNode.child.get(dir);
+        nodes[path.length - 1].child.remove(path[path.length - 1]);
+        release(path[path.length - 1], curNode);
+        for (Node node : nodes) {
+            node.fileCount -= curNode.fileCount;
+            node.totalSize -= curNode.totalSize;
         }
 
         return true;
     }
 
+    /**
+     * Finds the files matching a glob pattern, one pattern element per path component:
+     * "**" matches any number of components (zero included), and inside any other element '*' matches any run
+     * of characters and '?' any single character. Elements without wildcards are plain child lookups.
+     * Every (node, pattern element) pair is expanded once, so overlapping "**" never report a file twice.
+     * Time Complexity: O(V * P) in the worst case, V being the visited nodes and P the pattern length
+     * Space Complexity: O(V) for the visited pairs
+     *
+     * @param pattern the pattern elements, e.g. {"a", "*", "c", "**"}
+     * @return the paths of the matching files
+     */
+    public List<String[]> glob(String[] pattern) {
+        List<String[]> result = new ArrayList<>();
+        glob(root, pattern, 0, new ArrayList<>(), new IdentityHashMap<>(), result);
+        return result;
+    }
+
+    private void glob(Node curNode, String[] pattern, int idx, List<String> path, Map<Node, BitSet> visited,
+                      List<String[]> result) {
+        BitSet done = visited.computeIfAbsent(curNode, node -> new BitSet(pattern.length + 1));
+        if (done.get(idx))
+            return;
+        done.set(idx);
+
+        if (idx == pattern.length) {
+            if (curNode.isEndOfPath)
+                result.add(path.toArray(new String[0]));
+            return;
+        }
+
+        String element = pattern[idx];
+
+        if (element.equals("**")) {
+            glob(curNode, pattern, idx + 1, path, visited, result); // matches nothing
+
+            for (Map.Entry<String, Node> entry : curNode.child.entrySet()) { // or one more component
+                path.add(entry.getKey());
+                glob(entry.getValue(), pattern, idx, path, visited, result);
+                path.remove(path.size() - 1);  // backtrace
+            }
+        } else if (element.indexOf('*') < 0 && element.indexOf('?') < 0) {
+            Node next = curNode.child.get(element);
+            if (next != null) {
+                path.add(element);
+                glob(next, pattern, idx + 1, path, visited, result);
+                path.remove(path.size() - 1);
+            }
+        } else {
+            for (Map.Entry<String, Node> entry : curNode.child.entrySet()) {
+                if (!wildcardMatch(element, entry.getKey()))
+                    continue;
+
+                path.add(entry.getKey());
+                glob(entry.getValue(), pattern, idx + 1, path, visited, result);
+                path.remove(path.size() - 1);
+            }
+        }
+    }
+
+    /**
+     * Builds an index from a file listing, one file per line: a '/'-separated path, optionally followed by a tab
+     * and the file size in bytes. The result is the same as inserting the lines in order.
+     * The lines are cut into even chunks, one trie is built per chunk in parallel, and neighbouring tries are then
+     * merged pairwise, also in parallel, until one is left. Chunks don't depend on how the paths spread over the
+     * directories, so a listing where everything sits under one root (/home/...) splits as well as any other.
+     * Time Complexity: O(N / p + S log p), N being the total length of the listing, p the number of cores and S the
+     * number of trie nodes the chunks have in common, which is small unless the chunks list the same directories
+     * Space Complexity: O(N) for the lines and the index
+     *
+     * @param listing the file to read
+     * @return the new index
+     * @throws IOException if the listing cannot be read
+     * @throws IllegalArgumentException if a line has a malformed or negative size
+     */
+    public static OsPath loadParallel(Path listing) throws IOException {
+        OsPath index = new OsPath();
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(listing)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank())
+                    lines.add(line);
+            }
+        }
+
+        int parts = Math.max(1, Math.min(lines.size(), Runtime.getRuntime().availableProcessors() * 4));
+        int chunk = (lines.size() + parts - 1) / parts;
+
+        Node[] roots = new Node[parts];
+        IntStream.range(0, parts).parallel().forEach(p -> {
+            roots[p] = new Node();
+            for (String line : lines.subList(p * chunk, Math.min(lines.size(), (p + 1) * chunk))) {
+                int tab = line.indexOf('\t');
+                String[] path = split(tab < 0 ? line : line.substring(0, tab));
+                index.insert(roots[p], path, tab < 0 ? -1 : parseSize(line, tab));
+            }
+        });
+
+        // Round by round, roots[i] absorbs roots[i + step]: the later chunk is always merged into the earlier one.
+        for (int step = 1; step < parts; step *= 2) {
+            int width = step;
+            IntStream.iterate(0, i -> i + width < parts, i -> i + 2 * width).parallel()
+                    .forEach(i -> index.merge(roots[i], roots[i + width]));
+        }
+
+        index.root = roots[0];
+        return index;
+    }
+
+    /**
+     * Splits a '/'-separated path into its components, ignoring empty ones.
+     * Time Complexity: O(L) where L is the length of the path
+     * Space Complexity: O(L)
+     *
+     * @param path e.g. "/usr/local/bin"
+     * @return e.g. {"usr", "local", "bin"}
+     */
+    public static String[] split(String path) {
+        List<String> components = new ArrayList<>();
+        int start = 0;
+
+        for (int i = 0; i <= path.length(); ++i) {
+            if (i == path.length() || path.charAt(i) == '/') {
+                if (i > start)
+                    components.add(path.substring(start, i));
+                start = i + 1;
+            }
+        }
+
+        return components.toArray(new String[0]);
+    }
+
+    private static long parseSize(String line, int tab) {
+        long size;
+        try {
+            size = Long.parseLong(line.substring(tab + 1).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed file size in line: " + line, e);
+        }
+
+        if (size < 0)
+            throw new IllegalArgumentException("File size can't be negative in line: " + line);
+        return size;
+    }
+
+    /**
+     * Merges the trie under source into target, as if the files of source had been inserted after those of target:
+     * a file in both is counted once and takes the size from source if source was given one. Children only source
+     * has are moved over whole, together with their reference on the pooled name; for children both have, the
+     * reference of the source edge is dropped. The counters of the nodes walked are then summed from their children.
+     * Time Complexity: O(S + C) where S is the number of nodes both tries have and C the number of their children
+     * Space Complexity: O(D) for the recursion, D being the depth of the shared nodes
+     */
+    private void merge(Node target, Node source) {
+        if (source.isEndOfPath) {
+            if (!target.isEndOfPath || source.sized)
+                target.size = source.size;
+
+            target.isEndOfPath = true;
+            target.sized |= source.sized;
+        }
+
+        for (Map.Entry<String, Node> entry : source.child.entrySet()) {
+            Node mine = target.child.get(entry.getKey());
+            if (mine == null) {
+                target.child.put(entry.getKey(), entry.getValue());
+            } else {
+                unref(entry.getKey());
+                merge(mine, entry.getValue());
+            }
+        }
+
+        long files = target.isEndOfPath ? 1 : 0;
+        long bytes = target.isEndOfPath ? target.size : 0;
+        for (Node child : target.child.values()) {
+            files += child.fileCount;
+            bytes += child.totalSize;
+        }
+
+        target.fileCount = files;
+        target.totalSize = bytes;
+    }
+
+    private Node find(String[] path) {
+        Node curNode = root;
+
+        for (String dir : path) {
+            if ((curNode = curNode.child.get(dir)) == null)
+                return null;
+        }
+
+        return curNode;
+    }
+
+    // Returns the pooled copy of the name, taking one reference on it.
+    private String intern(String name) {
+        return names.compute(name, (key, pooled) -> {
+            if (pooled == null)
+                pooled = new PooledName(key);
+            pooled.refs++;
+            return pooled;
+        }).name;
+    }
+
+    // Drops the reference of the edge name -> subtree and of every edge below it, without recursion.
+    private void release(String name, Node subtree) {
+        unref(name);
+
+        List<Node> stack = new ArrayList<>();
+        stack.add(subtree);
+        while (!stack.isEmpty()) {
+            Node curNode = stack.remove(stack.size() - 1);
+            for (Map.Entry<String, Node> entry : curNode.child.entrySet()) {
+                unref(entry.getKey());
+                stack.add(entry.getValue());
+            }
+        }
+    }
+
+    private void unref(String name) {
+        names.computeIfPresent(name, (key, pooled) -> --pooled.refs == 0 ? null : pooled);
+    }
+
+    // Glob match of a single component, '*' backtracks to the last star only, so it runs in O(|pattern| * |name|).
+    private static boolean wildcardMatch(String pattern, String name) {
+        int p = 0, n = 0, star = -1, mark = 0;
+
+        while (n < name.length()) {
+            if (p < pattern.length() && (pattern.charAt(p) == '?' || pattern.charAt(p) == name.charAt(n))) {
+                ++p;
+                ++n;
+            } else if (p < pattern.length() && pattern.charAt(p) == '*') {
+                star = p++;
+                mark = n;
+            } else if (star >= 0) {
+                p = star + 1;
+                n = ++mark;
+            } else {
+                return false;
+            }
+        }
+
+        while (p < pattern.length() && pattern.charAt(p) == '*')
+            ++p;
+
+        return p == pattern.length();
+    }
+
+    private static class PooledName {
+        final String name;
+        int refs;           // edges labelled with this name, only changed inside the map's compute calls
+
+        PooledName(String name) {
+            this.name = name;
+        }
+    }
+
     private static class Node {
         HashMap<String, Node> child;
 
         boolean isEndOfPath;
+        boolean sized;      // a size was given for the file ending here, so a later merge doesn't reset it
+
+        long size;          // size of the file ending here, meaningful only if isEndOfPath
+        long fileCount;     // files in this subtree, this node included
+        long totalSize;     // total size of the files in this subtree
 
         public Node() {
             child   = new HashMap<>();
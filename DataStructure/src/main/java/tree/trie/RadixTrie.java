@@ -0,0 +1,208 @@
+package tree.trie;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compressed (radix / Patricia) variant of {@link Trie} with the same operations.
+ * Chains of single-child nodes are merged into one edge labeled with the whole substring, so a dictionary
+ * needs about one node per word instead of one per character. Children are kept in small sorted arrays
+ * (first characters in a char[] for binary search, nodes in a parallel Node[]) instead of a HashMap per node,
+ * so no Character is ever boxed and leaves carry no child table at all.
+ */
+public class RadixTrie {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    Node root;
+
+    public RadixTrie() {
+        root = new Node(NO_KEYS, false);
+    }
+
+    public void insert(String key) {
+        Node curNode = root;
+        int i = 0;
+
+        while (i < key.length()) {
+            int idx = curNode.indexOf(key.charAt(i));
+
+            if (idx < 0) { // no edge starts with this char, the whole rest becomes one new edge
+                curNode.addChild(new Node(key.substring(i).toCharArray(), true));
+                return;
+            }
+
+            Node child = curNode.children[idx];
+            int common = commonPrefix(child.label, key, i);
+
+            if (common < child.label.length) { // key leaves the edge midway, split the edge at that point
+                Node mid = new Node(Arrays.copyOf(child.label, common), false);
+                child.label = Arrays.copyOfRange(child.label, common, child.label.length);
+                mid.keys = new char[]{child.label[0]};
+                mid.children = new Node[]{child};
+                curNode.children[idx] = mid; // same first char, so the parent's order is kept
+
+                i += common;
+                if (i == key.length())
+                    mid.isEndOfWord = true;
+                else
+                    mid.addChild(new Node(key.substring(i).toCharArray(), true));
+                return;
+            }
+
+            i += common;
+            curNode = child;
+        }
+
+        curNode.isEndOfWord = true;
+    }
+
+    public boolean isWordExist(String word) {
+        Node curNode = root;
+        int i = 0;
+
+        while (i < word.length()) {
+            int idx = curNode.indexOf(word.charAt(i));
+            if (idx < 0)
+                return false;
+
+            curNode = curNode.children[idx];
+            if (commonPrefix(curNode.label, word, i) != curNode.label.length) // a word can't end in the middle of an edge
+                return false;
+
+            i += curNode.label.length;
+        }
+
+        return curNode.isEndOfWord;
+    }
+
+    public boolean isPrefixExist(String prefix) {
+        Node curNode = root;
+        int i = 0;
+
+        while (i < prefix.length()) {
+            int idx = curNode.indexOf(prefix.charAt(i));
+            if (idx < 0)
+                return false;
+
+            curNode = curNode.children[idx];
+            int common = commonPrefix(curNode.label, prefix, i);
+            if (common < curNode.label.length) // the prefix may end inside the edge, but not diverge from it
+                return i + common == prefix.length();
+
+            i += common;
+        }
+
+        return true;
+    }
+
+    public String minimalPrefix(String word) {
+        Node curNode = root;
+        int i = 0;
+
+        while (i < word.length()) {
+            int idx = curNode.indexOf(word.charAt(i));
+            if (idx < 0)
+                break;
+
+            curNode = curNode.children[idx];
+            if (commonPrefix(curNode.label, word, i) != curNode.label.length)
+                break;
+
+            i += curNode.label.length;
+            if (curNode.isEndOfWord)
+                return word.substring(0, i);
+        }
+
+        return word;
+    }
+
+    public void autoComplete(String prefix, List<String> listOfWords){
+        Node curNode = root;
+        StringBuilder str = new StringBuilder(prefix);
+        int i = 0;
+
+        while (i < prefix.length()) {
+            int idx = curNode.indexOf(prefix.charAt(i));
+            if (idx < 0)
+                return;
+
+            curNode = curNode.children[idx];
+            int common = commonPrefix(curNode.label, prefix, i);
+            if (common < curNode.label.length) {
+                if (i + common < prefix.length()) // diverged from the edge
+                    return;
+
+                str.append(curNode.label, common, curNode.label.length - common); // complete the edge the prefix ends in
+            }
+
+            i += common;
+        }
+
+        getAll(curNode, str, listOfWords);
+    }
+
+    public void getAll(List<String> listOfWords){
+        getAll(root, new StringBuilder(), listOfWords);
+    }
+
+    private void getAll(Node curNode, StringBuilder str, List<String> listOfWords){
+        if (curNode.isEndOfWord)
+            listOfWords.add(str.toString());
+
+        for (Node child : curNode.children) {
+            int len = str.length();
+            str.append(child.label);
+
+            getAll(child, str, listOfWords);
+
+            str.setLength(len);  // backtrace
+        }
+    }
+
+    // Number of leading chars of label that match str starting at offset.
+    private static int commonPrefix(char[] label, String str, int offset) {
+        int max = Math.min(label.length, str.length() - offset);
+        int i = 0;
+        while (i < max && label[i] == str.charAt(offset + i))
+            ++i;
+
+        return i;
+    }
+
+    private static class Node {
+        char[] label;       // chars on the edge leading into this node
+        char[] keys;        // first char of each child's label, sorted
+        Node[] children;    // children[i] is the child whose label starts with keys[i]
+
+        boolean isEndOfWord;
+
+        public Node(char[] label, boolean isEndOfWord) {
+            this.label = label;
+            this.keys = NO_KEYS;
+            this.children = NO_CHILDREN;
+            this.isEndOfWord = isEndOfWord;
+        }
+
+        int indexOf(char c) {
+            return Arrays.binarySearch(keys, c);
+        }
+
+        // Arrays grow by exactly one slot, nodes rarely have many children and memory is the point.
+        void addChild(Node child) {
+            int pos = -(indexOf(child.label[0]) + 1);
+
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            newKeys[pos] = child.label[0];
+            newChildren[pos] = child;
+            System.arraycopy(keys, pos, newKeys, pos + 1, keys.length - pos);
+            System.arraycopy(children, pos, newChildren, pos + 1, children.length - pos);
+
+            keys = newKeys;
+            children = newChildren;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package tree.trie;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 public class Trie {
 
@@ -14,6 +17,7 @@ public class Trie {
 
     public void insert(String key) {
         Node curNode = root;
+        curNode.maxScore = Math.max(curNode.maxScore, 0); // a new word gets score 0, an existing one keeps its score
 
         for (char c : key.toCharArray()) {
 
@@ -21,11 +25,207 @@ public class Trie {
                 curNode.child.put(c, new Node());
 
             curNode = curNode.child.get(c);
+            curNode.maxScore = Math.max(curNode.maxScore, 0);
         }
 
         curNode.isEndOfWord = true;
     }
 
+    /**
+     * Inserts a word with a ranking score used by topK, replacing the score if the word already exists.
+     * Every node on the path keeps the best score found in its subtree, as an upper bound for topK.
+     * Lowering a score leaves those bounds too high: topK stays correct, it just prunes a little less.
+     * Time Complexity: O(L) where L is the length of the word
+     * Space Complexity: O(L) for new nodes
+     *
+     * @param key the word
+     * @param score the rank of the word, higher ranks first
+     */
+    public void insert(String key, int score) {
+        Node curNode = root;
+        curNode.maxScore = Math.max(curNode.maxScore, score);
+
+        for (char c : key.toCharArray()) {
+
+            if (!curNode.child.containsKey(c))
+                curNode.child.put(c, new Node());
+
+            curNode = curNode.child.get(c);
+            curNode.maxScore = Math.max(curNode.maxScore, score);
+        }
+
+        curNode.isEndOfWord = true;
+        curNode.score = score;
+    }
+
+    /**
+     * Returns the k highest scored words starting with the prefix, best first.
+     * Best-first branch and bound: a max-heap holds both finished words (keyed by their score) and unexplored
+     * subtrees (keyed by the best score inside them). A word popped from the heap beats everything still in it,
+     * so the search stops after k words and never walks subtrees that cannot make it into the answer.
+     * Time Complexity: O(P + k * d * log(k * d)) where P is the prefix length, d the fan-out of the expanded nodes
+     * - independent of how many words share the prefix
+     * Space Complexity: O(k * d) for the heap
+     *
+     * @param prefix the prefix typed so far
+     * @param k the number of suggestions wanted
+     * @return up to k words ordered by descending score
+     */
+    public List<String> topK(String prefix, int k) {
+        List<String> result = new ArrayList<>(Math.max(k, 0));
+        Node curNode = root;
+
+        for (char c : prefix.toCharArray()) {
+            if ((curNode = curNode.child.get(c)) == null )
+                return result;
+        }
+
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(Candidate.ORDER);
+        heap.add(new Candidate(curNode, prefix, 0, curNode.maxScore, false));
+
+        drain(heap, result, k);
+        return result;
+    }
+
+    /**
+     * Returns every word within maxEdits insertions, deletions or substitutions of the given word.
+     * The trie is walked depth first while keeping one row of the Levenshtein table per node: the row of a child
+     * is derived from its parent's row in O(|word|), and a branch is dropped as soon as every cell of its row
+     * exceeds maxEdits, since no word below it can get closer again.
+     * Time Complexity: O(V * L) where L is the length of the word and V the number of visited nodes,
+     * a small fraction of the trie for small maxEdits
+     * Space Complexity: O(L * D) for the rows along the path, D being the depth reached
+     *
+     * @param word the possibly misspelled word
+     * @param maxEdits the largest edit distance accepted
+     * @return the matching words, in no particular order
+     */
+    public List<String> fuzzySearch(String word, int maxEdits) {
+        List<String> result = new ArrayList<>();
+        int[] firstRow = new int[word.length() + 1];
+        for (int j = 0; j < firstRow.length; ++j)
+            firstRow[j] = j;
+
+        if (root.isEndOfWord && word.length() <= maxEdits)
+            result.add("");
+
+        StringBuilder str = new StringBuilder();
+        for (Map.Entry<Character, Node> entry : root.child.entrySet())
+            fuzzySearch(entry.getValue(), entry.getKey(), str, word, firstRow, maxEdits, result);
+
+        return result;
+    }
+
+    private void fuzzySearch(Node curNode, char c, StringBuilder str, String word, int[] prevRow, int maxEdits,
+                             List<String> result) {
+        int[] row = nextRow(prevRow, c, word);
+        if (min(row) > maxEdits)
+            return;
+
+        str.append(c);
+        if (curNode.isEndOfWord && row[word.length()] <= maxEdits)
+            result.add(str.toString());
+
+        for (Map.Entry<Character, Node> entry : curNode.child.entrySet())
+            fuzzySearch(entry.getValue(), entry.getKey(), str, word, row, maxEdits, result);
+
+        str.deleteCharAt(str.length() - 1);  // backtrace
+    }
+
+    /**
+     * Typo-tolerant topK: returns up to k words that start with something within maxEdits of the prefix,
+     * fewest edits first and, among equal edits, highest score first.
+     * The Levenshtein rows locate the nodes matching the prefix; once a branch can no longer improve, its
+     * whole subtree completes with a fixed number of edits and is handed to the same branch and bound as topK.
+     * Time Complexity: O(V * P) to match the prefix, V being the visited nodes, plus the topK cost of the answer
+     * Space Complexity: O(V + k * d) for the candidates and the heap
+     *
+     * @param prefix the possibly misspelled prefix typed so far
+     * @param maxEdits the largest edit distance accepted on the prefix
+     * @param k the number of suggestions wanted
+     * @return up to k words ordered by edits, then by descending score
+     */
+    public List<String> fuzzyAutoComplete(String prefix, int maxEdits, int k) {
+        List<String> result = new ArrayList<>(Math.max(k, 0));
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(Candidate.ORDER);
+
+        int[] firstRow = new int[prefix.length() + 1];
+        for (int j = 0; j < firstRow.length; ++j)
+            firstRow[j] = j;
+
+        if (firstRow[prefix.length()] <= maxEdits && root.isEndOfWord)
+            heap.add(new Candidate(root, "", prefix.length(), root.score, true));
+
+        StringBuilder str = new StringBuilder();
+        for (Map.Entry<Character, Node> entry : root.child.entrySet())
+            matchPrefix(entry.getValue(), entry.getKey(), str, prefix, firstRow, firstRow[prefix.length()],
+                    maxEdits, heap);
+
+        drain(heap, result, k);
+        return result;
+    }
+
+    // bestEdits is the fewest edits any prefix of the path so far needs to match the typed prefix.
+    private void matchPrefix(Node curNode, char c, StringBuilder str, String prefix, int[] prevRow, int bestEdits,
+                             int maxEdits, PriorityQueue<Candidate> heap) {
+        int[] row = nextRow(prevRow, c, prefix);
+        bestEdits = Math.min(bestEdits, row[prefix.length()]);
+        str.append(c);
+
+        if (min(row) > maxEdits) { // the path only drifts further away, everything below completes with bestEdits
+            if (bestEdits <= maxEdits)
+                heap.add(new Candidate(curNode, str.toString(), bestEdits, curNode.maxScore, false));
+        } else {
+            if (curNode.isEndOfWord && bestEdits <= maxEdits)
+                heap.add(new Candidate(curNode, str.toString(), bestEdits, curNode.score, true));
+
+            for (Map.Entry<Character, Node> entry : curNode.child.entrySet())
+                matchPrefix(entry.getValue(), entry.getKey(), str, prefix, row, bestEdits, maxEdits, heap);
+        }
+
+        str.deleteCharAt(str.length() - 1);  // backtrace
+    }
+
+    // Best-first expansion shared by topK and fuzzyAutoComplete, a subtree keeps the edits of its root.
+    private static void drain(PriorityQueue<Candidate> heap, List<String> result, int k) {
+        while (!heap.isEmpty() && result.size() < k) {
+            Candidate best = heap.poll();
+
+            if (best.isWord) {
+                result.add(best.str);
+                continue;
+            }
+
+            if (best.node.isEndOfWord)
+                heap.add(new Candidate(best.node, best.str, best.edits, best.node.score, true));
+
+            for (Map.Entry<Character, Node> entry : best.node.child.entrySet())
+                heap.add(new Candidate(entry.getValue(), best.str + entry.getKey(), best.edits,
+                        entry.getValue().maxScore, false));
+        }
+    }
+
+    // Next row of the Levenshtein table of target against the path extended by c.
+    private static int[] nextRow(int[] prevRow, char c, String target) {
+        int[] row = new int[prevRow.length];
+        row[0] = prevRow[0] + 1;
+
+        for (int j = 1; j < row.length; ++j) {
+            int replace = prevRow[j - 1] + (target.charAt(j - 1) == c ? 0 : 1);
+            row[j] = Math.min(replace, Math.min(prevRow[j], row[j - 1]) + 1);
+        }
+
+        return row;
+    }
+
+    private static int min(int[] row) {
+        int min = row[0];
+        for (int cell : row)
+            min = Math.min(min, cell);
+
+        return min;
+    }
+
     public boolean isWordExist(String word) {
         Node curNode = root;
 
@@ -122,14 +322,24 @@ public class Trie {
     }
 
 
+    // Heap entry of topK: either a finished word or a subtree still to be explored. Fewer edits win, then higher priority.
+    private record Candidate(Node node, String str, int edits, int priority, boolean isWord) {
+        static final Comparator<Candidate> ORDER = Comparator.comparingInt(Candidate::edits)
+                .thenComparing(Comparator.comparingInt(Candidate::priority).reversed());
+    }
+
     private static class Node {
         HashMap<Character, Node> child;
 
         boolean isEndOfWord;
 
+        int score;      // rank of the word ending here, meaningful only if isEndOfWord
+        int maxScore;   // upper bound of the scores of all words in this subtree
+
         public Node() {
             child = new HashMap<>();
             isEndOfWord = false;
+            maxScore = Integer.MIN_VALUE;
         }
     }
 }